@@ -0,0 +1,54 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Turning the coordinates on the command line into dependencies and queries. stringToDependency checks first whether
+// they name a file.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CoordinateBenchmark {
+
+    @Param({ "demo-lib", "org.example:demo-lib", "org.example:demo-lib:1.1" })
+    String coordinate;
+
+    @Benchmark
+    public Dependency stringToDependency() {
+        return Main.stringToDependency(coordinate);
+    }
+
+    @Benchmark
+    public QuerySpec querySpec() {
+        return QuerySpec.of(coordinate);
+    }
+}
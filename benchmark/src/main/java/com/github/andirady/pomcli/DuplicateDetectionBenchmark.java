@@ -0,0 +1,85 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// What add does before anything else: checking the dependencies given against the ones in the POM, half of them
+// already there.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DuplicateDetectionBenchmark {
+
+    @Param({ "1000", "5000" })
+    int existing;
+
+    @Param({ "1", "100" })
+    int added;
+
+    List<Dependency> dependencies;
+    List<Dependency> candidates;
+
+    @Setup
+    public void setUp() {
+        dependencies = new ArrayList<>();
+        for (int i = 0; i < existing; i++) {
+            dependencies.add(dependency("org.example.group" + (i % 50), "artifact-" + i));
+        }
+
+        candidates = new ArrayList<>();
+        for (int i = 0; i < added; i++) {
+            var k = existing - 1 - i;
+            candidates.add(i % 2 == 0
+                    ? dependency("org.example.group" + (k % 50), "artifact-" + k)
+                    : dependency("org.example.new", "new-artifact-" + i));
+        }
+    }
+
+    @Benchmark
+    public void detect(Blackhole bh) {
+        var index = new DependencyIndex(dependencies);
+        for (var c : candidates) {
+            bh.consume(index.contains(c));
+        }
+    }
+
+    private static Dependency dependency(String groupId, String artifactId) {
+        var d = new Dependency();
+        d.setGroupId(groupId);
+        d.setArtifactId(artifactId);
+        return d;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Picking the version to add from maven-metadata.xml. Without a <release>, every version is read and sorted.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MetadataBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int versions;
+
+    @Param({ "true", "false" })
+    boolean withRelease;
+
+    String metadata;
+
+    @Setup
+    public void setUp() {
+        var latest = "1." + (versions - 1) + ".0";
+        var sb = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <metadata>
+                  <groupId>org.example</groupId>
+                  <artifactId>demo-lib</artifactId>
+                  <versioning>
+                """);
+        if (withRelease) {
+            sb.append("    <latest>").append(latest).append("</latest>\n");
+            sb.append("    <release>").append(latest).append("</release>\n");
+        }
+        sb.append("    <versions>\n");
+        for (int i = 0; i < versions; i++) {
+            sb.append("      <version>1.").append(i).append(".0-rc1</version>\n");
+            sb.append("      <version>1.").append(i).append(".0</version>\n");
+        }
+        sb.append("""
+                    </versions>
+                    <lastUpdated>20250101000000</lastUpdated>
+                  </versioning>
+                </metadata>
+                """);
+        metadata = sb.toString();
+    }
+
+    @Benchmark
+    public String latestRelease() throws XMLStreamException {
+        return GetLatestVersion.parse(new StringReader(metadata), true);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.DefaultModelReader;
+import org.apache.maven.model.io.DefaultModelWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Reading and writing a POM, as every command that changes one does.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelBenchmark {
+
+    @Param({ "10", "1000", "5000" })
+    int dependencies;
+
+    String pom;
+    Model model;
+
+    @Setup
+    public void setUp() throws IOException {
+        var m = new Model();
+        m.setModelVersion("4.0.0");
+        m.setGroupId("com.example");
+        m.setArtifactId("bench");
+        m.setVersion("1.0");
+        m.addProperty("project.build.sourceEncoding", "UTF-8");
+        m.addProperty("maven.compiler.release", "21");
+        for (int i = 0; i < dependencies; i++) {
+            var d = new Dependency();
+            d.setGroupId("org.example.group" + (i % 50));
+            d.setArtifactId("artifact-" + i);
+            d.setVersion("1." + i + ".0");
+            if (i % 10 == 0) {
+                d.setScope("test");
+            }
+            m.addDependency(d);
+        }
+
+        pom = write(m);
+        model = read(pom);
+    }
+
+    @Benchmark
+    public Model read() throws IOException {
+        return read(pom);
+    }
+
+    @Benchmark
+    public String write() throws IOException {
+        return write(model);
+    }
+
+    @Benchmark
+    public String roundTrip() throws IOException {
+        return write(read(pom));
+    }
+
+    private static Model read(String pom) throws IOException {
+        return new DefaultModelReader(null).read(new StringReader(pom), null);
+    }
+
+    private static String write(Model model) throws IOException {
+        var writer = new StringWriter();
+        new DefaultModelWriter().write(writer, null, model);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+@Command(name = "benchmark", mixinStandardHelpOptions = true, sortOptions = false,
+        description = "Measures the wall time and the peak RSS of pom commands against a local repository")
+public class Benchmark implements Callable<Integer> {
+
+    private static final Path TIME = Path.of("/usr/bin/time");
+
+    @Option(names = "--command", paramLabel = "NAME=COMMAND", required = true,
+            description = "A command to measure, e.g. native=target/pom. It must accept -D options before the others.")
+    Map<String, String> commands = new LinkedHashMap<>();
+
+    @Option(names = "--scenario", split = ",", paramLabel = "SCENARIO",
+            description = "Scenarios to run, of ${COMPLETION-CANDIDATES}. Defaults to all.")
+    List<Scenario> scenarios = List.of(Scenario.values());
+
+    @Option(names = "--latency", split = ",", paramLabel = "MILLIS", defaultValue = "0",
+            description = "Latency added to each response. Default: ${DEFAULT-VALUE}")
+    List<Long> latencies;
+
+    @Option(names = { "-n", "--iterations" }, defaultValue = "10", description = "Default: ${DEFAULT-VALUE}")
+    int iterations;
+
+    @Option(names = "--warmup", defaultValue = "2",
+            description = "Runs left out of the results. Default: ${DEFAULT-VALUE}")
+    int warmup;
+
+    @Option(names = "--cold", description = "Start every run with an empty local repository and cache")
+    boolean cold;
+
+    @Option(names = "--repository", paramLabel = "DIR", defaultValue = "src/training/repository",
+            description = "Files served as the remote repository. Default: ${DEFAULT-VALUE}")
+    Path repository;
+
+    @Option(names = "--output", paramLabel = "FILE", description = "Appends the results to the file")
+    Path output;
+
+    @Option(names = "--baseline", paramLabel = "FILE",
+            description = "Compares with the latest results in the file for the same command, scenario and latency")
+    Path baseline;
+
+    @Option(names = "--relative-to", paramLabel = "NAME",
+            description = "Compares with the results of the named command in this run, e.g. native, when comparing "
+                    + "--command native=... with --command pgo=...")
+    String relativeTo;
+
+    @Option(names = "--revision", description = "Recorded with the results. Defaults to the current git commit.")
+    String revision;
+
+    private Boolean gnuTime;
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new Benchmark()).setCaseInsensitiveEnumValuesAllowed(true).execute(args));
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        if (!Files.isDirectory(repository)) {
+            throw new IllegalArgumentException("No such directory: " + repository);
+        }
+        if (relativeTo != null && !commands.containsKey(relativeTo)) {
+            throw new IllegalArgumentException("No such command: " + relativeTo);
+        }
+        if (revision == null) {
+            revision = currentRevision();
+        }
+
+        var baselines = new LinkedHashMap<String, Result>();
+        // The output may serve as its own baseline, before it has any results.
+        if (baseline != null && (Files.exists(baseline) || !baseline.equals(output))) {
+            try (var lines = Files.lines(baseline)) {
+                lines.skip(1).map(Result::parse).forEach(r -> baselines.put(r.key(), r));
+            }
+        }
+
+        // The command compared against runs first, so that its results are there for the others.
+        var ordered = new ArrayList<>(commands.entrySet());
+        ordered.sort(Comparator.comparing(e -> !e.getKey().equals(relativeTo)));
+
+        var results = new ArrayList<Result>();
+        var references = new LinkedHashMap<String, Result>();
+        var work = Files.createTempDirectory("pom-benchmark");
+        try (var server = new RepositoryServer(repository)) {
+            for (var latency : latencies) {
+                server.setLatency(Duration.ofMillis(latency));
+                for (var command : ordered) {
+                    for (var scenario : scenarios) {
+                        var samples = run(server, work, List.of(command.getValue().split(" +")), scenario);
+                        var result = Result.of(revision, command.getKey(), scenario, latency, samples);
+                        if (command.getKey().equals(relativeTo)) {
+                            references.put(scenario + "\t" + latency, result);
+                            print(System.out, result, baselines.get(result.key()), Result::revision);
+                        } else if (relativeTo != null) {
+                            print(System.out, result, references.get(scenario + "\t" + latency), Result::command);
+                        } else {
+                            print(System.out, result, baselines.get(result.key()), Result::revision);
+                        }
+                        results.add(result);
+                    }
+                }
+            }
+        } finally {
+            delete(work);
+        }
+
+        if (output != null) {
+            var header = Files.exists(output) ? Stream.<String>empty()
+                    : Stream.of("revision\tcommand\tscenario\tlatency\titerations\tmedian\tp90\tpeak_rss\trequests"
+                            + "\trss_source");
+            Files.write(output, Stream.concat(header, results.stream().map(Result::toLine)).toList(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        return 0;
+    }
+
+    private List<Result.Sample> run(RepositoryServer server, Path work, List<String> command, Scenario scenario)
+            throws IOException, InterruptedException {
+        var home = Files.createTempDirectory(work, "home");
+        var samples = new ArrayList<Result.Sample>();
+        for (int i = 0; i < warmup + iterations; i++) {
+            if (cold && i > 0) {
+                home = Files.createTempDirectory(work, "home");
+            }
+
+            var dir = Files.createTempDirectory(work, "project").toString();
+            for (var setup : scenario.setup(dir)) {
+                launch(server, command, home, setup);
+            }
+            server.takeRequests();
+
+            var sample = launch(server, command, home, scenario.command(dir));
+            if (i >= warmup) {
+                samples.add(new Result.Sample(sample.nanos(), sample.peakRss(), server.takeRequests(),
+                        sample.rssSampled()));
+            }
+        }
+
+        return samples;
+    }
+
+    private Result.Sample launch(RepositoryServer server, List<String> command, Path home, List<String> args)
+            throws IOException, InterruptedException {
+        var processArgs = new ArrayList<String>();
+        var rssFile = home.resolveSibling(home.getFileName() + "-rss.txt");
+        if (hasGnuTime()) {
+            processArgs.addAll(List.of(TIME.toString(), "-f", "%M", "-o", rssFile.toString()));
+        }
+        processArgs.addAll(command);
+        processArgs.add("-Duser.home=" + home);
+        processArgs.addAll(args);
+
+        var errors = Files.createTempFile(home.getParent(), "stderr", ".txt");
+        var builder = new ProcessBuilder(processArgs)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(errors.toFile());
+        var env = builder.environment();
+        env.keySet().removeIf(name -> name.startsWith("POM_CLI_") || name.startsWith("XDG_"));
+        env.put("POM_CLI_REPOSITORY_URL", server.getUri().toString());
+        env.put("POM_CLI_SEARCH_URL", server.getUri().resolve("solrsearch/select").toString());
+
+        var start = System.nanoTime();
+        var process = builder.start();
+        var peakRss = -1L;
+        if (hasGnuTime()) {
+            process.waitFor();
+        } else {
+            // Without time, the peak is polled, and one shorter than the interval may be missed.
+            var status = Path.of("/proc", String.valueOf(process.pid()), "status");
+            while (!process.waitFor(1, TimeUnit.MILLISECONDS)) {
+                peakRss = Math.max(peakRss, peakRss(status));
+            }
+        }
+        var nanos = System.nanoTime() - start;
+
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(String.join(" ", processArgs) + " exited with " + process.exitValue()
+                    + ":\n" + Files.readString(errors));
+        }
+        Files.delete(errors);
+
+        if (hasGnuTime()) {
+            peakRss = timedPeakRss(rssFile);
+            Files.deleteIfExists(rssFile);
+        }
+
+        return new Result.Sample(nanos, peakRss, 0, !hasGnuTime());
+    }
+
+    // GNU time reports the peak RSS the kernel kept for the process, with -f %M, in KiB.
+    private boolean hasGnuTime() throws IOException, InterruptedException {
+        if (gnuTime == null) {
+            var file = Files.createTempFile("time", ".txt");
+            try {
+                var process = new ProcessBuilder(TIME.toString(), "-f", "%M", "-o", file.toString(), "true")
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+                gnuTime = process.waitFor() == 0 && timedPeakRss(file) >= 0;
+            } catch (IOException e) {
+                gnuTime = false;
+            } finally {
+                Files.delete(file);
+            }
+            if (!gnuTime) {
+                System.err.println("No GNU time in " + TIME + ", so the peak RSS is sampled");
+            }
+        }
+
+        return gnuTime;
+    }
+
+    // The last line, since a line about the exit status may come first.
+    private static long timedPeakRss(Path file) throws IOException {
+        var lines = Files.readAllLines(file);
+        var last = lines.isEmpty() ? "" : lines.get(lines.size() - 1).strip();
+        return last.matches("\\d+") ? Long.parseLong(last) : -1;
+    }
+
+    private static long peakRss(Path status) {
+        try (var lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(-1);
+        } catch (IOException | UncheckedIOException e) {
+            return -1;
+        }
+    }
+
+    private static void print(PrintStream out, Result result, Result baseline, Function<Result, String> label) {
+        var line = String.format(Locale.ROOT,
+                "%-10s %-7s %5d ms  median %8.1f ms  p90 %8.1f ms  %-11s %8s  requests %3d",
+                result.command(), result.scenario(), result.latency(), result.median(), result.p90(),
+                result.rssSampled() ? "rss sampled" : "rss",
+                result.peakRss() < 0 ? "-" : (result.peakRss() / 1024) + " MiB", result.requests());
+        if (baseline != null) {
+            line += String.format(Locale.ROOT, "  %+6.1f%% from %s", (result.median() / baseline.median() - 1) * 100,
+                    label.apply(baseline));
+        }
+        out.println(line);
+    }
+
+    private static String currentRevision() {
+        try {
+            var process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            var revision = new String(process.getInputStream().readAllBytes()).strip();
+            return process.waitFor() == 0 && !revision.isEmpty() ? revision : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
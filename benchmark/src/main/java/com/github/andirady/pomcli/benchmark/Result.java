@@ -0,0 +1,68 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.benchmark;
+
+import java.util.List;
+import java.util.Locale;
+
+// The measurements of one scenario with one command, the times in milliseconds and the peak RSS in KiB, or -1 when
+// it could not be read. A sampled peak RSS was polled while the command ran, and may miss a short lived peak.
+record Result(String revision, String command, Scenario scenario, long latency, int iterations, double median,
+        double p90, long peakRss, int requests, boolean rssSampled) {
+
+    record Sample(long nanos, long peakRss, int requests, boolean rssSampled) {
+    }
+
+    static Result of(String revision, String command, Scenario scenario, long latency, List<Sample> samples) {
+        var millis = samples.stream().mapToDouble(s -> s.nanos() / 1e6).sorted().toArray();
+        var peakRss = samples.stream().mapToLong(Sample::peakRss).max().orElse(-1);
+        var requests = samples.stream().mapToInt(Sample::requests).max().orElse(0);
+        var rssSampled = samples.stream().anyMatch(Sample::rssSampled);
+        return new Result(revision, command, scenario, latency, millis.length, percentile(millis, 50),
+                percentile(millis, 90), peakRss, requests, rssSampled);
+    }
+
+    String key() {
+        return command + "\t" + scenario + "\t" + latency;
+    }
+
+    String toLine() {
+        return String.join("\t", revision, command, scenario.name(), String.valueOf(latency),
+                String.valueOf(iterations), String.format(Locale.ROOT, "%.1f", median),
+                String.format(Locale.ROOT, "%.1f", p90), String.valueOf(peakRss), String.valueOf(requests),
+                rssSampled ? "sampled" : "time");
+    }
+
+    static Result parse(String line) {
+        var f = line.split("\t");
+        // Results from before the RSS source was recorded were all sampled.
+        if (f.length != 9 && f.length != 10) {
+            throw new IllegalArgumentException("Not a result: " + line);
+        }
+        return new Result(f[0], f[1], Scenario.valueOf(f[2]), Long.parseLong(f[3]), Integer.parseInt(f[4]),
+                Double.parseDouble(f[5]), Double.parseDouble(f[6]), Long.parseLong(f[7]), Integer.parseInt(f[8]),
+                f.length == 9 || f[9].equals("sampled"));
+    }
+
+    // Nearest rank.
+    private static double percentile(double[] sorted, int p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        var rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
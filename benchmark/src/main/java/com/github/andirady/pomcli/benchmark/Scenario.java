@@ -0,0 +1,49 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.benchmark;
+
+import java.util.List;
+
+// What is measured, in a new project directory each time, after the setup commands ran there. DIR stands for the
+// project directory.
+enum Scenario {
+
+    ID(List.of(), "id -f DIR com.example:bench:1.0"),
+    ADD(List.of("id -s -f DIR com.example:bench:1.0"), "add -f DIR org.example:demo-lib"),
+    PLUG(List.of("id -s -f DIR com.example:bench:1.0"), "plug -f DIR org.apache.maven.plugins:maven-surefire-plugin"),
+    SEARCH(List.of(), "search demo-lib"),
+    PARENT(List.of("id -s -f DIR com.example:bench:1.0"), "parent -f DIR org.example:demo-parent:1.0");
+
+    private final List<String> setup;
+    private final String command;
+
+    Scenario(List<String> setup, String command) {
+        this.setup = setup;
+        this.command = command;
+    }
+
+    List<List<String>> setup(String dir) {
+        return setup.stream().map(s -> args(s, dir)).toList();
+    }
+
+    List<String> command(String dir) {
+        return args(command, dir);
+    }
+
+    private static List<String> args(String command, String dir) {
+        return List.of(command.split(" ")).stream().map(a -> a.equals("DIR") ? dir : a).toList();
+    }
+}
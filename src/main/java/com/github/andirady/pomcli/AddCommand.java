@@ -16,12 +16,8 @@
 package com.github.andirady.pomcli;
 
 import static java.util.function.Predicate.not;
-import static java.util.stream.Collectors.joining;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -29,15 +25,11 @@ import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Exclusion;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
-import org.apache.maven.model.io.DefaultModelWriter;
 import org.apache.maven.model.io.ModelReader;
 
 import picocli.CommandLine.ArgGroup;
@@ -117,27 +109,34 @@ public class AddCommand extends ReadingOptions implements Runnable {
         });
         readParentPom(getPomReader());
 
-        if (coords == null || coords.isEmpty()) {
-            coords = readDependenciesFromStdin();
-        }
-        if (coords.isEmpty()) {
-            throw new IllegalArgumentException("No dependency provided");
-        }
+        var input = coords == null || coords.isEmpty() ? readDependenciesFromStdin() : coords.stream();
 
-        LOG.fine(() -> "Attempting to add " + coords + " to " + pomPath);
+        LOG.fine(() -> "Attempting to add " + (coords == null || coords.isEmpty() ? "stdin" : coords) + " to "
+                + pomPath);
 
         var existing = getExistingDependencies();
         LOG.fine("Checking for duplicates");
-        var duplicates = coords.stream()
-                .filter(c -> existing.stream().anyMatch(d -> sameArtifact(c, d, c.getGroupId() == null)))
-                .map(this::coordString)
-                .collect(joining(", "));
-        if (duplicates.length() > 0) {
-            LOG.fine(() -> String.format("Found %s duplicates", duplicates.length()));
-            throw new IllegalArgumentException("Duplicate artifact(s): " + duplicates);
+        var index = new DependencyIndex(existing);
+        var duplicates = new ArrayList<String>();
+        var unique = input
+                .filter(c -> {
+                    if (index.contains(c)) {
+                        duplicates.add(coordString(c));
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+        if (!duplicates.isEmpty()) {
+            LOG.fine(() -> String.format("Found %s duplicates", duplicates.size()));
+            throw new IllegalArgumentException("Duplicate artifact(s): " + String.join(", ", duplicates));
+        }
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("No dependency provided");
         }
 
-        var stream = coords.stream().parallel().map(this::ensureVersion).map(this::addExclusions);
+        var versioned = Lookups.map(unique, this::ensureVersion, Config.getInstance().getLookupTimeout());
+        var stream = versioned.stream().map(this::addExclusions);
 
         // Add the scope element if the scope is not compile scope.
         if (scope != null && !scope.compile) {
@@ -164,10 +163,9 @@ public class AddCommand extends ReadingOptions implements Runnable {
         var deps = stream.toList();
         existing.addAll(deps);
 
-        var writer = new DefaultModelWriter();
-        try (var os = Files.newOutputStream(getPomFilePath())) {
-            writer.write(os, null, model);
-            deps.forEach(d -> System.out.printf(
+        try {
+            PomFiles.write(getPomFilePath(), model);
+            deps.forEach(d -> spec.commandLine().getOut().printf(
                     "%s %s%s added%s%n",
                     switch (d.getScope()) {
                         case "provided" -> "📦";
@@ -216,11 +214,19 @@ public class AddCommand extends ReadingOptions implements Runnable {
         var scopeName = scope instanceof Scope s ? s.value() : "compile";
         var resolver = ResolutionProvider.getInstance();
 
-        if (streamManaged(model)
-                .filter(this::isImportScope)
-                .map(d -> resolver.readModel(d.getGroupId(), d.getArtifactId(), resolveIfProperty(d.getVersion())))
-                .flatMap(m -> resolver.findByArtifactId(m, dep.getGroupId(), dep.getArtifactId(), scopeName).stream())
-                .findFirst().orElse(null) instanceof Dependency managed) {
+        var imports = streamManaged(model).filter(this::isImportScope).toList();
+        Dependency imported = null;
+        if (!imports.isEmpty()) {
+            try (var _ = Timings.start(Timings.Phase.BOM, coordString(dep))) {
+                imported = imports.stream()
+                        .map(d -> resolver.readModel(d.getGroupId(), d.getArtifactId(),
+                                resolveIfProperty(d.getVersion())))
+                        .flatMap(m -> resolver.findByArtifactId(m, dep.getGroupId(), dep.getArtifactId(), scopeName)
+                                .stream())
+                        .findFirst().orElse(null);
+            }
+        }
+        if (imported instanceof Dependency managed) {
             if (dep.getGroupId() == null) {
                 dep.setGroupId(managed.getGroupId());
             }
@@ -244,9 +250,12 @@ public class AddCommand extends ReadingOptions implements Runnable {
                             ? resolver.readModel(p.getGroupId(), p.getArtifactId(), p.getVersion())
                             : null;
             if (remotePom != null) {
-                var remotelyManaged = resolver
-                        .findByArtifactId(remotePom, dep.getGroupId(), dep.getArtifactId(), scopeName)
-                        .orElse(null);
+                Dependency remotelyManaged;
+                try (var _ = Timings.start(Timings.Phase.BOM, coordString(dep))) {
+                    remotelyManaged = resolver
+                            .findByArtifactId(remotePom, dep.getGroupId(), dep.getArtifactId(), scopeName)
+                            .orElse(null);
+                }
                 if (remotelyManaged != null) {
                     if (dep.getGroupId() == null) {
                         dep.setGroupId(remotelyManaged.getGroupId());
@@ -318,99 +327,8 @@ public class AddCommand extends ReadingOptions implements Runnable {
         return model.getProperties().getProperty(propKey);
     }
 
-    List<Dependency> readDependenciesFromStdin() {
-        var xml = readStdin();
-        if (xml.isBlank()) {
-            LOG.fine(() -> "No XML read from stdin. Returning empty dependencies for " + pomPath);
-            return List.of();
-        }
-
-        try {
-            var builder = newDocumentBuilderFactory().newDocumentBuilder();
-            var doc = builder.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-            var root = doc.getDocumentElement();
-            if (root == null) {
-                return List.of();
-            }
-
-            var dependencies = switch (root.getTagName()) {
-                case "dependency" -> List.of(root);
-                case "dependencies" -> childElements(root, "dependency");
-                default -> throw new IllegalArgumentException("Expected <dependency> or <dependencies> input from stdin");
-            };
-
-            return dependencies.stream().map(this::toDependency).toList();
-        } catch (IllegalArgumentException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Unable to parse dependencies from stdin", e);
-        }
-    }
-
-    String readStdin() {
-        try {
-            return new String(System.in.readAllBytes(), StandardCharsets.UTF_8).trim();
-        } catch (IOException e) {
-            throw new RuntimeException("Unable to read stdin", e);
-        }
-    }
-
-    Dependency toDependency(org.w3c.dom.Element dependencyElement) {
-        var dep = new Dependency();
-        dep.setGroupId(nodeText(dependencyElement, "groupId"));
-        dep.setArtifactId(nodeText(dependencyElement, "artifactId"));
-        dep.setVersion(nodeText(dependencyElement, "version"));
-        dep.setClassifier(nodeText(dependencyElement, "classifier"));
-        dep.setType(nodeText(dependencyElement, "type"));
-        dep.setScope(nodeText(dependencyElement, "scope"));
-
-        var optionalValue = nodeText(dependencyElement, "optional");
-        if (optionalValue != null) {
-            dep.setOptional(Boolean.parseBoolean(optionalValue));
-        }
-
-        if (dep.getArtifactId() == null) {
-            throw new IllegalArgumentException("Invalid dependency from stdin: missing artifactId");
-        }
-
-        return dep;
-    }
-
-    DocumentBuilderFactory newDocumentBuilderFactory() {
-        try {
-            var dbf = DocumentBuilderFactory.newInstance();
-            dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            dbf.setExpandEntityReferences(false);
-            dbf.setXIncludeAware(false);
-            return dbf;
-        } catch (Exception e) {
-            throw new RuntimeException("Unable to initialize XML parser", e);
-        }
-    }
-
-    List<org.w3c.dom.Element> childElements(org.w3c.dom.Element parent, String tagName) {
-        var nodes = parent.getChildNodes();
-        var result = new ArrayList<org.w3c.dom.Element>();
-        for (var i = 0; i < nodes.getLength(); i++) {
-            if (nodes.item(i) instanceof org.w3c.dom.Element child && tagName.equals(child.getTagName())) {
-                result.add(child);
-            }
-        }
-
-        return result;
-    }
-
-    String nodeText(org.w3c.dom.Element parent, String tagName) {
-        var matches = childElements(parent, tagName);
-        if (matches.isEmpty()) {
-            return null;
-        }
-
-        var value = matches.get(0).getTextContent();
-        return value == null || value.isBlank() ? null : value.trim();
+    Stream<Dependency> readDependenciesFromStdin() {
+        return DependencyReader.read(System.in);
     }
 
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import picocli.CommandLine;
+
+// Runs commands read line by line in this process, so they share its caches and the POM session of the batch.
+final class Batch {
+
+    private Batch() {
+    }
+
+    // Stops at the first failing command. Nothing is written then, since the session is only committed when all of
+    // them succeed.
+    static int run(BufferedReader reader, CommandLine parent) throws IOException {
+        var profileId = ((Main) parent.getCommand()).getProfileId();
+        var number = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            var args = split(line, number);
+            if (!args.isEmpty() && args.get(0).equals("pom")) {
+                args = args.subList(1, args.size());
+            }
+            if (args.isEmpty()) {
+                continue;
+            }
+
+            var main = new Main();
+            profileId.ifPresent(main::setProfileId);
+            var cli = Main.createCommandLine(main);
+            cli.setOut(parent.getOut());
+            cli.setErr(parent.getErr());
+
+            // Options such as --repository are kept in system properties, and only apply to their own line.
+            var properties = (Properties) System.getProperties().clone();
+            int rc;
+            try {
+                rc = cli.execute(args.toArray(String[]::new));
+            } finally {
+                System.setProperties(properties);
+            }
+
+            if (rc == 0 && cli.getParseResult() != null && Main.anyFailed(cli.getParseResult())) {
+                rc = 1;
+            }
+            if (rc != 0) {
+                parent.getErr().println(parent.getColorScheme()
+                        .errorText("Stopped at line " + number + ", no changes were written"));
+                return rc;
+            }
+        }
+
+        return 0;
+    }
+
+    // Splits a line into arguments like a shell does: on whitespace outside of quotes. A backslash escapes the next
+    // character, except in single quotes, and # starts a comment.
+    static List<String> split(String line, int number) {
+        var args = new ArrayList<String>();
+        var current = new StringBuilder();
+        var inArg = false;
+        var quote = (char) 0;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (c == '\\' && quote == '"' && i + 1 < line.length()) {
+                    current.append(line.charAt(++i));
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                inArg = true;
+            } else if (c == '\\' && i + 1 < line.length()) {
+                current.append(line.charAt(++i));
+                inArg = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArg) {
+                    args.add(current.toString());
+                    current.setLength(0);
+                    inArg = false;
+                }
+            } else if (c == '#' && !inArg) {
+                break;
+            } else {
+                current.append(c);
+                inArg = true;
+            }
+        }
+
+        if (quote != 0) {
+            throw new IllegalArgumentException("Unclosed quote at line " + number);
+        }
+        if (inArg) {
+            args.add(current.toString());
+        }
+
+        return args;
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.logging.Logger;
+
+// A cache directory of one file per entry, where the modification time of a file is when it was last used.
+final class CacheDirectory {
+
+    private static final Logger LOG = Logger.getLogger("");
+
+    private CacheDirectory() {
+    }
+
+    static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    // Removes the least recently used entries until the directory is no larger than maxSize bytes.
+    static void evict(Path directory, long maxSize) throws IOException {
+        record Entry(Path path, long size, FileTime lastAccess) {
+        }
+
+        var entries = new ArrayList<Entry>();
+        var total = 0L;
+        try (var files = Files.newDirectoryStream(directory)) {
+            for (var f : files) {
+                var attributes = Files.readAttributes(f, BasicFileAttributes.class);
+                entries.add(new Entry(f, attributes.size(), attributes.lastModifiedTime()));
+                total += attributes.size();
+            }
+        }
+
+        if (total <= maxSize) {
+            return;
+        }
+
+        entries.sort(Comparator.comparing(Entry::lastAccess));
+        for (var e : entries) {
+            if (total <= maxSize) {
+                break;
+            }
+
+            Files.deleteIfExists(e.path());
+            total -= e.size();
+            LOG.fine(() -> "Evicted " + e.path() + " from the cache");
+        }
+    }
+}
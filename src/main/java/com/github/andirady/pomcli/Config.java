@@ -15,15 +15,40 @@
  */
 package com.github.andirady.pomcli;
 
-import java.util.ServiceLoader;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
 
 public interface Config {
 
     static Config getInstance() {
-        return ServiceLoader.load(Config.class).findFirst().orElseThrow();
+        return Providers.get(Config.class);
     }
 
     String getDefaultGroupId();
 
     String getDefaultVersion();
+
+    Path getCacheDirectory();
+
+    Duration getNegativeCacheTtl();
+
+    long getModelCacheSize();
+
+    long getGraphCacheSize();
+
+    URI getRepositoryUrl();
+
+    URI getSearchUrl();
+
+    int getResolverThreads();
+
+    Duration getLookupTimeout();
+
+    Optional<String> getChecksumPolicy();
+
+    Optional<String> getUpdatePolicy();
+
+    Optional<Path> getTraceFile();
 }
@@ -0,0 +1,459 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import picocli.CommandLine.Help.Ansi;
+
+// Runs commands in a long lived process, so they do not pay for starting up and reuse the caches of the previous
+// ones. The client sends a request frame, and the daemon answers with standard output and error frames, then an exit
+// frame. The client only sends its standard input once the daemon asks for it, when the command first reads it, so
+// a command that does not read it leaves it to the next one. Each frame is a type byte, a length and the payload.
+public final class Daemon {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final byte REQUEST = 'R';
+    private static final byte STOP = 'S';
+    private static final byte STDIN = 'I';
+    private static final byte STDIN_WANTED = 'W';
+    private static final byte STDOUT = 'O';
+    private static final byte STDERR = 'E';
+    private static final byte EXIT = 'X';
+    private static final byte REFUSED = 'N';
+    private static final int STDIN_BUFFER = 64 * 1024;
+    // Variables that change what a command does. A request from a shell where they differ is run by the client.
+    private static final Set<String> ENVIRONMENT = Set.of("PATH", "JAVA_HOME", "XDG_CACHE_HOME", "XDG_CONFIG_HOME");
+
+    record Request(String directory, String encoding, boolean ansi, Map<String, String> environment,
+            List<String> args) {
+
+        byte[] encode() throws IOException {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            out.writeUTF(directory);
+            out.writeUTF(encoding);
+            out.writeBoolean(ansi);
+            out.writeInt(environment.size());
+            for (var e : environment.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeUTF(e.getValue());
+            }
+            out.writeInt(args.size());
+            for (var arg : args) {
+                out.writeUTF(arg);
+            }
+            return bytes.toByteArray();
+        }
+
+        static Request decode(byte[] bytes) throws IOException {
+            var in = new DataInputStream(new ByteArrayInputStream(bytes));
+            var directory = in.readUTF();
+            var encoding = in.readUTF();
+            var ansi = in.readBoolean();
+            var environment = new TreeMap<String, String>();
+            for (var i = in.readInt(); i > 0; i--) {
+                environment.put(in.readUTF(), in.readUTF());
+            }
+            var args = new ArrayList<String>();
+            for (var i = in.readInt(); i > 0; i--) {
+                args.add(in.readUTF());
+            }
+            return new Request(directory, encoding, ansi, environment, args);
+        }
+    }
+
+    private Daemon() {
+    }
+
+    // The socket of the daemon serving the directory. The working directory of a process cannot change, so each
+    // directory is served by its own daemon.
+    public static Path socketPath(Path directory) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1")
+                    .digest(directory.toString().getBytes(StandardCharsets.UTF_8));
+            return Config.getInstance().getCacheDirectory().resolve("daemon")
+                    .resolve(HexFormat.of().formatHex(digest, 0, 8) + ".sock");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Path workingDirectory() {
+        return Path.of("").toAbsolutePath().normalize();
+    }
+
+    // Runs the command in the daemon listening on the socket, if there is one that accepts it. Returns the exit code.
+    public static OptionalInt forward(Path socket, String[] args) {
+        if (!Files.exists(socket)) {
+            return OptionalInt.empty();
+        }
+
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "No daemon listening on " + socket);
+            return OptionalInt.empty();
+        }
+
+        var stdin = System.in;
+        var stdout = System.out;
+        var stderr = System.err;
+        try (channel) {
+            var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            var out = new FrameWriter(Channels.newOutputStream(channel));
+            var request = new Request(workingDirectory().toString(), stdoutEncoding().name(), Ansi.AUTO.enabled(),
+                    environment(), List.of(args));
+            out.write(REQUEST, request.encode());
+
+            var sender = new Thread(() -> sendStdin(stdin, out), "daemon-stdin");
+            sender.setDaemon(true);
+
+            while (true) {
+                var type = in.readByte();
+                var payload = in.readNBytes(in.readInt());
+                switch (type) {
+                    case STDIN_WANTED -> {
+                        if (sender.getState() == Thread.State.NEW) {
+                            sender.start();
+                        }
+                    }
+                    case STDOUT -> stdout.write(payload, 0, payload.length);
+                    case STDERR -> stderr.write(payload, 0, payload.length);
+                    case EXIT -> {
+                        stdout.flush();
+                        stderr.flush();
+                        return OptionalInt.of(ByteBuffer.wrap(payload).getInt());
+                    }
+                    case REFUSED -> {
+                        LOG.fine(() -> "Daemon refused the command: " + new String(payload, StandardCharsets.UTF_8));
+                        return OptionalInt.empty();
+                    }
+                    default -> throw new IOException("Unexpected frame " + type);
+                }
+            }
+        } catch (IOException e) {
+            // The daemon may have run the command already, so it is not run again.
+            stderr.println("Lost connection to the daemon: " + e.getMessage());
+            return OptionalInt.of(1);
+        }
+    }
+
+    // Asks the daemon listening on the socket to stop. Returns false if there is none.
+    public static boolean stop(Path socket) throws IOException {
+        if (!Files.exists(socket)) {
+            return false;
+        }
+
+        try (var channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            new FrameWriter(Channels.newOutputStream(channel)).write(STOP, new byte[0]);
+            var in = new DataInputStream(Channels.newInputStream(channel));
+            var type = in.readByte();
+            in.readNBytes(in.readInt());
+            return type == EXIT;
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "No daemon listening on " + socket);
+            return false;
+        }
+    }
+
+    // Serves the commands of clients in the directory one at a time, until asked to stop.
+    public static void serve(Path socket, Path directory) throws IOException {
+        var parent = socket.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        if (Files.getFileStore(parent).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(parent, PosixFilePermissions.fromString("rwx------"));
+        }
+
+        if (Files.exists(socket)) {
+            try (var _ = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+                throw new IllegalStateException("A daemon is already serving " + directory);
+            } catch (IOException e) {
+                LOG.fine(() -> "Removing stale socket " + socket);
+                Files.delete(socket);
+            }
+        }
+
+        var cleanup = new Thread(() -> {
+            try {
+                Files.deleteIfExists(socket);
+            } catch (IOException e) {
+                LOG.log(Level.FINE, e, () -> "Unable to remove " + socket);
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(cleanup);
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            var serving = true;
+            while (serving) {
+                try (var channel = server.accept()) {
+                    serving = handle(channel, directory);
+                } catch (IOException e) {
+                    LOG.log(Level.FINE, e, () -> "Unable to serve a client: " + e.getMessage());
+                }
+            }
+        } finally {
+            Runtime.getRuntime().removeShutdownHook(cleanup);
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    private static boolean handle(SocketChannel channel, Path directory) throws IOException {
+        var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        var out = new FrameWriter(Channels.newOutputStream(channel));
+        var type = in.readByte();
+        var payload = in.readNBytes(in.readInt());
+        if (type == STOP) {
+            try {
+                out.write(EXIT, ByteBuffer.allocate(4).putInt(0).array());
+            } catch (IOException e) {
+                LOG.log(Level.FINE, e, () -> "Unable to confirm stopping: " + e.getMessage());
+            }
+            return false;
+        } else if (type != REQUEST) {
+            throw new IOException("Unexpected frame " + type);
+        }
+
+        var request = Request.decode(payload);
+        if (!request.directory().equals(directory.toString())) {
+            out.write(REFUSED, ("Serving " + directory).getBytes(StandardCharsets.UTF_8));
+        } else if (!request.environment().equals(environment())) {
+            out.write(REFUSED, "Environment differs".getBytes(StandardCharsets.UTF_8));
+        } else {
+            out.write(EXIT, ByteBuffer.allocate(4).putInt(run(request, in, out)).array());
+        }
+
+        return true;
+    }
+
+    // Runs the command with the client's standard streams, on a new thread so nothing is left in thread locals, and
+    // restores the global state the command may change.
+    private static int run(Request request, DataInputStream in, FrameWriter out) throws IOException {
+        var properties = (Properties) System.getProperties().clone();
+        var rootLogger = Logger.getLogger("");
+        var level = rootLogger.getLevel();
+        var handlers = rootLogger.getHandlers();
+        var stdin = System.in;
+        var stdout = System.out;
+        var stderr = System.err;
+
+        var piped = new PipedInputStream(STDIN_BUFFER);
+        var sink = new PipedOutputStream(piped);
+        var input = new RequestedInputStream(piped, out);
+        var charset = Charset.forName(request.encoding());
+        var output = new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, STDOUT)), true, charset);
+        var error = new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, STDERR)), true, charset);
+        var result = new AtomicInteger(1);
+        var command = new Thread(() -> {
+            try {
+                result.set(Main.execute(request.args().toArray(String[]::new)));
+            } catch (RuntimeException e) {
+                LOG.log(Level.FINE, e, e::getMessage);
+            }
+        }, "daemon-command");
+        var receiver = new Thread(() -> receiveStdin(in, sink), "daemon-stdin");
+        receiver.setDaemon(true);
+
+        System.setIn(input);
+        System.setOut(output);
+        System.setErr(error);
+        System.setProperty("picocli.ansi", String.valueOf(request.ansi()));
+        try {
+            receiver.start();
+            command.start();
+            command.join();
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } finally {
+            output.flush();
+            error.flush();
+            input.close();
+            System.setIn(stdin);
+            System.setOut(stdout);
+            System.setErr(stderr);
+            System.setProperties(properties);
+            rootLogger.setLevel(level);
+            for (var h : rootLogger.getHandlers()) {
+                rootLogger.removeHandler(h);
+            }
+            for (var h : handlers) {
+                rootLogger.addHandler(h);
+            }
+        }
+    }
+
+    private static void sendStdin(InputStream stdin, FrameWriter out) {
+        var buffer = new byte[8192];
+        try {
+            int n;
+            while ((n = stdin.read(buffer)) > 0) {
+                out.write(STDIN, buffer, 0, n);
+            }
+            out.write(STDIN, buffer, 0, 0);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Stopped sending standard input: " + e.getMessage());
+        }
+    }
+
+    // An empty frame marks the end of the input.
+    private static void receiveStdin(DataInputStream in, PipedOutputStream sink) {
+        try (sink) {
+            while (true) {
+                var type = in.readByte();
+                var payload = in.readNBytes(in.readInt());
+                if (type != STDIN) {
+                    throw new IOException("Unexpected frame " + type);
+                } else if (payload.length == 0) {
+                    break;
+                }
+                sink.write(payload);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Stopped receiving standard input: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, String> environment() {
+        var environment = new TreeMap<String, String>();
+        System.getenv().forEach((k, v) -> {
+            if (ENVIRONMENT.contains(k) || k.startsWith("POM_CLI_")) {
+                environment.put(k, v);
+            }
+        });
+        return environment;
+    }
+
+    private static Charset stdoutEncoding() {
+        var encoding = System.getProperty("stdout.encoding");
+        return encoding != null && Charset.isSupported(encoding) ? Charset.forName(encoding) : Charset.defaultCharset();
+    }
+
+    private static final class FrameWriter {
+
+        private final DataOutputStream out;
+
+        // Buffered so that each frame is sent whole.
+        FrameWriter(OutputStream out) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+        }
+
+        void write(byte type, byte[] payload) throws IOException {
+            write(type, payload, 0, payload.length);
+        }
+
+        synchronized void write(byte type, byte[] payload, int off, int len) throws IOException {
+            out.writeByte(type);
+            out.writeInt(len);
+            out.write(payload, off, len);
+            out.flush();
+        }
+    }
+
+    // Asks the client for its standard input on the first read.
+    private static final class RequestedInputStream extends FilterInputStream {
+
+        private final FrameWriter writer;
+        private boolean requested;
+
+        RequestedInputStream(InputStream in, FrameWriter writer) {
+            super(in);
+            this.writer = writer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            request();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            request();
+            return super.read(b, off, len);
+        }
+
+        private synchronized void request() throws IOException {
+            if (!requested) {
+                requested = true;
+                writer.write(STDIN_WANTED, new byte[0]);
+            }
+        }
+    }
+
+    private static final class FrameOutputStream extends OutputStream {
+
+        private final FrameWriter writer;
+        private final byte type;
+
+        FrameOutputStream(FrameWriter writer, byte type) {
+            this.writer = writer;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                writer.write(type, b, off, len);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Callable;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Help.Ansi;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
+
+@Command(name = "daemon", description = "Keeps a process running that serves the commands run in the current directory")
+public class DaemonCommand implements Callable<Integer> {
+
+    @Option(names = { "--stop" }, description = "Stop the daemon serving the current directory")
+    boolean stop;
+
+    @Spec
+    CommandSpec spec;
+
+    @Override
+    public Integer call() {
+        var directory = Daemon.workingDirectory();
+        var socket = Daemon.socketPath(directory);
+        try {
+            if (stop) {
+                if (!Daemon.stop(socket)) {
+                    spec.commandLine().getErr().println(Ansi.AUTO.string(
+                            "@|bold,fg(red) No daemon is serving|@ @|fg(red) " + directory + "|@"));
+                    return 1;
+                }
+
+                return 0;
+            }
+
+            spec.commandLine().getOut().println("Serving " + directory + " on " + socket);
+            Daemon.serve(socket, directory);
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
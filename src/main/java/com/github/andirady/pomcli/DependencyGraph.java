@@ -0,0 +1,226 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.graph.DependencyNode;
+
+public class DependencyGraph {
+
+    private final List<String> ids;
+    private final List<String> labels;
+    private final int[][] children;
+    private final boolean fromMetadata;
+    private int[][] parents;
+    private Map<String, List<Integer>> index;
+
+    DependencyGraph(List<String> ids, List<String> labels, int[][] children) {
+        this(ids, labels, children, false);
+    }
+
+    private DependencyGraph(List<String> ids, List<String> labels, int[][] children, boolean fromMetadata) {
+        this.ids = ids;
+        this.labels = labels;
+        this.children = children;
+        this.fromMetadata = fromMetadata;
+    }
+
+    public static DependencyGraph of(DependencyNode root) {
+        var nodes = new IdentityHashMap<DependencyNode, Integer>();
+        var ordered = new ArrayList<DependencyNode>();
+        var queue = new LinkedList<DependencyNode>();
+        nodes.put(root, 0);
+        ordered.add(root);
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            for (var child : queue.poll().getChildren()) {
+                if (nodes.putIfAbsent(child, ordered.size()) == null) {
+                    ordered.add(child);
+                    queue.add(child);
+                }
+            }
+        }
+
+        var ids = new ArrayList<String>(ordered.size());
+        var labels = new ArrayList<String>(ordered.size());
+        var children = new int[ordered.size()][];
+        var fromMetadata = false;
+        for (var i = 0; i < ordered.size(); i++) {
+            var node = ordered.get(i);
+            var artifact = node.getArtifact();
+            ids.add(artifact.getGroupId() + ":" + artifact.getArtifactId());
+            labels.add(i == 0 ? ids.get(i) + ":" + artifact.getVersion() : format(node));
+            children[i] = node.getChildren().stream().mapToInt(nodes::get).toArray();
+            fromMetadata |= i > 0 && isFromMetadata(node);
+        }
+
+        return new DependencyGraph(ids, labels, children, fromMetadata);
+    }
+
+    // Whether the version of a dependency was picked from repository metadata, which can change: a snapshot, a
+    // version range, LATEST or RELEASE.
+    private static boolean isFromMetadata(DependencyNode node) {
+        var constraint = node.getVersionConstraint();
+        return node.getArtifact().isSnapshot()
+                || constraint != null && (constraint.getRange() != null
+                        || constraint.getVersion() != null
+                                && List.of("LATEST", "RELEASE").contains(constraint.getVersion().toString()));
+    }
+
+    // Whether a graph resolved again later may differ, as some of its versions were picked from repository
+    // metadata. Graphs read from a file are never so.
+    boolean isFromMetadata() {
+        return fromMetadata;
+    }
+
+    static String format(DependencyNode node) {
+        var artifact = node.getArtifact();
+        var dependency = node.getDependency();
+        var sb = new StringBuilder(artifact.getGroupId()).append(':')
+                .append(artifact.getArtifactId()).append(':')
+                .append(artifact.getExtension()).append(':');
+        if (!artifact.getClassifier().isEmpty()) {
+            sb.append(artifact.getClassifier()).append(':');
+        }
+        sb.append(artifact.getVersion()).append(':').append(dependency.getScope());
+        if (dependency.isOptional()) {
+            sb.append(" (optional)");
+        }
+
+        return sb.toString();
+    }
+
+    public static DependencyGraph read(Path path) throws IOException {
+        var lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        var size = Integer.parseInt(lines.get(0));
+        var ids = new ArrayList<String>(size);
+        var labels = new ArrayList<String>(size);
+        var children = new int[size][];
+        for (var i = 0; i < size; i++) {
+            var parts = lines.get(i + 1).split("\t", -1);
+            ids.add(parts[0]);
+            labels.add(parts[1]);
+            children[i] = parts[2].isEmpty() ? new int[0]
+                    : Arrays.stream(parts[2].split(",")).mapToInt(Integer::parseInt).toArray();
+        }
+
+        return new DependencyGraph(ids, labels, children);
+    }
+
+    public void write(Path path) throws IOException {
+        var sb = new StringBuilder().append(ids.size()).append('\n');
+        for (var i = 0; i < ids.size(); i++) {
+            sb.append(ids.get(i)).append('\t').append(labels.get(i)).append('\t');
+            for (var j = 0; j < children[i].length; j++) {
+                sb.append(j == 0 ? "" : ",").append(children[i][j]);
+            }
+            sb.append('\n');
+        }
+
+        Files.createDirectories(path.getParent());
+        var temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, sb, StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Up to limit paths from the root to the artifact. Without a limit, a graph where many artifacts depend on each
+    // other has more paths than can be shown.
+    public List<List<String>> pathsTo(String groupId, String artifactId, int limit) {
+        buildIndex();
+        var targets = groupId == null
+                ? index.entrySet().stream().filter(e -> e.getKey().endsWith(":" + artifactId))
+                        .flatMap(e -> e.getValue().stream()).toList()
+                : index.getOrDefault(groupId + ":" + artifactId, List.of());
+
+        var paths = new ArrayList<List<String>>();
+        var onPath = new boolean[ids.size()];
+        for (var target : targets) {
+            if (target != 0) {
+                collectPaths(target, new LinkedList<>(), onPath, paths, limit);
+            }
+        }
+
+        return paths;
+    }
+
+    private void collectPaths(int node, LinkedList<String> suffix, boolean[] onPath, List<List<String>> paths,
+            int limit) {
+        if (paths.size() >= limit) {
+            return;
+        }
+
+        suffix.addFirst(labels.get(node));
+        onPath[node] = true;
+        if (node == 0) {
+            paths.add(List.copyOf(suffix));
+        } else {
+            for (var parent : parents[node]) {
+                if (!onPath[parent]) {
+                    collectPaths(parent, suffix, onPath, paths, limit);
+                }
+            }
+        }
+        onPath[node] = false;
+        suffix.removeFirst();
+    }
+
+    private void buildIndex() {
+        if (index != null) {
+            return;
+        }
+
+        var counts = new int[ids.size()];
+        for (var edges : children) {
+            for (var child : edges) {
+                counts[child]++;
+            }
+        }
+
+        parents = new int[ids.size()][];
+        for (var i = 0; i < ids.size(); i++) {
+            parents[i] = new int[counts[i]];
+        }
+
+        var filled = new int[ids.size()];
+        for (var i = 0; i < children.length; i++) {
+            for (var child : children[i]) {
+                parents[child][filled[child]++] = i;
+            }
+        }
+
+        index = new HashMap<>();
+        for (var i = 0; i < ids.size(); i++) {
+            index.computeIfAbsent(ids.get(i), k -> new ArrayList<>()).add(i);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.maven.model.Dependency;
+
+// Dependencies grouped by artifact id, so finding one does not scan the whole list. Matching ignores the type, like
+// the duplicate check of `add' always did.
+class DependencyIndex {
+
+    private final Map<String, List<Dependency>> byArtifactId = new HashMap<>();
+
+    DependencyIndex(Collection<Dependency> dependencies) {
+        dependencies.forEach(this::add);
+    }
+
+    void add(Dependency dependency) {
+        byArtifactId.computeIfAbsent(dependency.getArtifactId(), k -> new ArrayList<>(1)).add(dependency);
+    }
+
+    // The first dependency with the artifact id, and the group id unless it is null.
+    Optional<Dependency> find(String groupId, String artifactId) {
+        return bucket(artifactId).stream()
+                .filter(d -> groupId == null || groupId.equals(d.getGroupId()))
+                .findFirst();
+    }
+
+    // Whether a dependency with the same artifact id and classifier exists, and the same group id unless the given
+    // one has none.
+    boolean contains(Dependency dependency) {
+        var groupId = dependency.getGroupId();
+        return bucket(dependency.getArtifactId()).stream()
+                .anyMatch(d -> (groupId == null || groupId.equals(d.getGroupId()))
+                        && Objects.equals(dependency.getClassifier(), d.getClassifier()));
+    }
+
+    private List<Dependency> bucket(String artifactId) {
+        return byArtifactId.getOrDefault(artifactId, List.of());
+    }
+
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+
+// Reads dependencies one at a time, either from a <dependency> or <dependencies> document, or from lines of
+// groupId:artifactId[:version].
+class DependencyReader {
+
+    private static final XMLInputFactory FACTORY;
+
+    static {
+        FACTORY = XMLInputFactory.newInstance();
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private DependencyReader() {
+    }
+
+    static Stream<Dependency> read(InputStream in) {
+        var input = new BufferedInputStream(in);
+        Iterator<Dependency> iterator;
+        try {
+            iterator = isXml(input) ? new XmlIterator(FACTORY.createXMLStreamReader(input)) : lines(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read stdin", e);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Unable to parse dependencies from stdin", e);
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static boolean isXml(BufferedInputStream input) throws IOException {
+        int c;
+        do {
+            input.mark(1);
+            c = input.read();
+        } while (c != -1 && Character.isWhitespace(c));
+
+        if (c != -1) {
+            input.reset();
+        }
+        return c == '<';
+    }
+
+    private static Iterator<Dependency> lines(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)).lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(Main::stringToDependency)
+                .iterator();
+    }
+
+    private static class XmlIterator implements Iterator<Dependency> {
+
+        private final XMLStreamReader reader;
+        private boolean single;
+        private boolean started;
+        private Dependency next;
+
+        XmlIterator(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readNext();
+                } catch (XMLStreamException e) {
+                    throw new IllegalArgumentException("Unable to parse dependencies from stdin", e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Dependency next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            var d = next;
+            next = null;
+            return d;
+        }
+
+        private Dependency readNext() throws XMLStreamException {
+            if (!started) {
+                started = true;
+                reader.nextTag();
+                switch (reader.getLocalName()) {
+                    case "dependency" -> {
+                        single = true;
+                        return readDependency();
+                    }
+                    case "dependencies" -> {
+                    }
+                    default -> throw new IllegalArgumentException(
+                            "Expected <dependency> or <dependencies> input from stdin");
+                }
+            } else if (single) {
+                return null;
+            }
+
+            // Positioned inside <dependencies>, skip anything that is not a <dependency>.
+            while (reader.hasNext()) {
+                var event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    return null;
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("dependency".equals(reader.getLocalName())) {
+                        return readDependency();
+                    }
+                    skipElement();
+                }
+            }
+
+            return null;
+        }
+
+        private Dependency readDependency() throws XMLStreamException {
+            var dep = new Dependency();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "groupId" -> dep.setGroupId(text());
+                    case "artifactId" -> dep.setArtifactId(text());
+                    case "version" -> dep.setVersion(text());
+                    case "classifier" -> dep.setClassifier(text());
+                    case "type" -> dep.setType(text());
+                    case "scope" -> dep.setScope(text());
+                    case "optional" -> {
+                        if (text() instanceof String optional) {
+                            dep.setOptional(Boolean.parseBoolean(optional));
+                        }
+                    }
+                    case "exclusions" -> readExclusions(dep);
+                    default -> skipElement();
+                }
+            }
+
+            if (dep.getArtifactId() == null) {
+                throw new IllegalArgumentException("Invalid dependency from stdin: missing artifactId");
+            }
+
+            return dep;
+        }
+
+        private void readExclusions(Dependency dep) throws XMLStreamException {
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (!"exclusion".equals(reader.getLocalName())) {
+                    skipElement();
+                    continue;
+                }
+
+                var exclusion = new Exclusion();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "groupId" -> exclusion.setGroupId(text());
+                        case "artifactId" -> exclusion.setArtifactId(text());
+                        default -> skipElement();
+                    }
+                }
+                dep.addExclusion(exclusion);
+            }
+        }
+
+        private String text() throws XMLStreamException {
+            var value = reader.getElementText().trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private void skipElement() throws XMLStreamException {
+            for (var depth = 1; depth > 0;) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> depth++;
+                    case XMLStreamConstants.END_ELEMENT -> depth--;
+                    default -> {
+                    }
+                }
+            }
+        }
+
+    }
+
+}
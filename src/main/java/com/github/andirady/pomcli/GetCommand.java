@@ -15,7 +15,11 @@
  */
 package com.github.andirady.pomcli;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.apache.maven.model.Profile;
 
@@ -39,18 +43,38 @@ public class GetCommand extends JarSupportedReadingOptions implements Runnable {
 
     @Override
     public void run() {
-        var pom = getPom().orElseThrow(() -> new IllegalStateException(pomPath + " is not a file."));
         var profileId = main.getProfileId();
-        var propertyValue = profileId.map(id -> pom.getProfiles()
+        var propertyValue = profileId.isPresent() || PomSession.current().pending(getPomFilePath()).isPresent()
+                ? getPropertyFromModel(profileId)
+                : getProperty();
+        spec.commandLine().getOut()
+                .println(Objects.requireNonNull(propertyValue,
+                        "No such property: " + property + profileId.map(i -> ", profile: " + i).orElse("")));
+    }
+
+    private String getProperty() {
+        var f = getPomFilePath();
+        if (!PomSession.current().exists(f)) {
+            throw new IllegalStateException(pomPath + " is not a file.");
+        }
+
+        var propPath = "project/properties/" + property;
+        try {
+            return PomExtractor.extract(f, List.of(propPath)).get(propPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String getPropertyFromModel(Optional<String> profileId) {
+        var pom = getPom().orElseThrow(() -> new IllegalStateException(pomPath + " is not a file."));
+        return profileId.map(id -> pom.getProfiles()
                 .stream()
                 .filter(p -> id.equals(p.getId())).findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("No such profile: " + profileId)))
                 .map(Profile::getProperties)
                 .map(p -> p.getProperty(property))
                 .orElseGet(() -> pom.getProperties().getProperty(property));
-        spec.commandLine().getOut()
-                .println(Objects.requireNonNull(propertyValue,
-                        "No such property: " + property + profileId.map(i -> ", profile: " + i).orElse("")));
     }
 
 }
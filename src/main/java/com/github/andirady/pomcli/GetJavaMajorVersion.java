@@ -17,8 +17,8 @@ package com.github.andirady.pomcli;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,7 +27,11 @@ public interface GetJavaMajorVersion {
     static final Pattern JAVA_VERSION_PATTERN = Pattern.compile("\"(\\d+)(-ea)?(\\.(\\d+))?(\\.(.+))?\"");
 
     static GetJavaMajorVersion getInstance() {
-        return ServiceLoader.load(GetJavaMajorVersion.class).findFirst().orElseThrow(); 
+        return Providers.get(GetJavaMajorVersion.class);
+    }
+
+    default Optional<String> get(Path projectDir) {
+        return get();
     }
 
     default Optional<String> get() {
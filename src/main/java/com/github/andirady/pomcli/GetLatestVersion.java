@@ -15,12 +15,16 @@
  */
 package com.github.andirady.pomcli;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
-import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,20 +42,25 @@ import javax.xml.stream.XMLStreamException;
 public class GetLatestVersion {
 
     static final Logger LOG = Logger.getLogger("");
-    private static final URI MAVEN_CENTRAL = URI.create("https://repo.maven.apache.org/maven2");
 
     private final HttpClient client;
+    private final NegativeCache negativeCache;
 
-    public GetLatestVersion(HttpClient client) {
+    public GetLatestVersion(HttpClient client, NegativeCache negativeCache) {
         this.client = client;
+        this.negativeCache = negativeCache;
+    }
+
+    public GetLatestVersion(HttpClient client) {
+        this(client, NegativeCache.getInstance());
     }
 
     public GetLatestVersion() {
-        this(HttpClient.newBuilder().version(Version.HTTP_2).build());
+        this(HttpClients.getDefault());
     }
 
     public Optional<String> execute(QuerySpec spec) {
-        return execute(spec, MAVEN_CENTRAL);
+        return execute(spec, Config.getInstance().getRepositoryUrl());
     }
 
     public Optional<String> execute(QuerySpec spec, URI repository) {
@@ -80,113 +89,138 @@ public class GetLatestVersion {
     }
 
     String getLatest(URI repository, String groupId, String artifactId, boolean release) throws Exception {
+        var coordinate = groupId + ":" + artifactId;
         var uri = getMetadataUrl(repository, groupId, artifactId);
-        LOG.fine(() -> "uri = " + uri);
-        var t0 = System.currentTimeMillis();
-        var request = HttpRequest.newBuilder(uri).GET().build();
-        var response = client.send(request, BodyHandlers.ofInputStream());
-
-        LOG.fine(() -> "Responsed in %sms".formatted(System.currentTimeMillis() - t0));
-
-        if (response.statusCode() != 200) {
-            LOG.fine(() -> "Status code from " + repository + " is not 200: " + response.statusCode());
+        if (negativeCache.isMissing(repository.toString(), coordinate)) {
+            Trace.client("GET", uri, repository.toString()).cache("negative").close();
             return null;
         }
 
-        var t1 = System.currentTimeMillis();
-        var factory = XMLInputFactory.newInstance();
-        try (var is = response.body(); var isr = new InputStreamReader(is)) {
-            var reader = factory.createXMLStreamReader(isr);
-            var inMetadata = false;
-            var inVersioning = false;
-            var inLatest = false;
-            var inRelease = false;
-            List<String> versions = null;
-            var inVersion = false;
-
-            while (reader.hasNext()) {
-                var event = reader.next();
-                switch (event) {
-                    case XMLStreamConstants.START_ELEMENT:
-                        switch (reader.getLocalName()) {
-                            case "metadata":
-                                inMetadata = true;
-                                break;
-                            case "versioning":
-                                if (!inMetadata) {
-                                    throw new IllegalStateException("Invalid metadata file");
-                                }
-                                inVersioning = true;
-                                break;
-                            case "latest":
-                                if (!inMetadata && !inVersioning) {
-                                    throw new IllegalStateException("Invalid metadata file");
-                                }
-
-                                inLatest = true;
-                                break;
-                            case "release":
-                                if (!inMetadata && !inVersioning) {
-                                    throw new IllegalStateException("Invalid metadata file");
-                                }
-
-                                inRelease = true;
-                                break;
-                            case "versions":
-                                versions = new ArrayList<>();
-                                break;
-                            case "version":
-                                if (versions == null) {
-                                    throw new IllegalStateException("Unexpected element <version>");
-                                }
-                                inVersion = true;
-                                break;
-                        }
-                        break;
-                    case XMLStreamConstants.CHARACTERS:
-                        var text = reader.getText();
-                        if (((release && inRelease) || (!release && inLatest))
-                                && followsRules(text)) {
-                            return text;
-                        } else if (inVersion) {
-                            versions.add(text);
-                        }
-
-                        break;
-                    case XMLStreamConstants.END_ELEMENT:
-                        switch (reader.getLocalName()) {
-                            case "latest":
-                                inLatest = false;
-                                break;
-                            case "release":
-                                inRelease = false;
-                                break;
-                            case "version":
-                                inVersion = false;
-                                break;
-                            case "versions":
-                                var version = versions.stream().sorted(Collections.reverseOrder())
-                                        .filter(this::followsRules)
-                                        .findFirst().orElse(null);
-                                // if none follow the rules, return the latest.
-                                return (version == null)
-                                        ? versions.stream().sorted(Collections.reverseOrder()).limit(1)
-                                                .findFirst().orElseThrow()
-                                        : version;
-                        }
-                        break;
+        LOG.fine(() -> "uri = " + uri);
+        byte[] body;
+        try (var _ = HttpClients.acquire(uri);
+                var _ = Timings.start(Timings.Phase.METADATA, uri.toString());
+                var span = Trace.client("GET", uri, repository.toString()).cache("miss")) {
+            var request = HttpRequest.newBuilder(uri).GET().build();
+            HttpResponse<InputStream> response;
+            try {
+                response = client.send(request, BodyHandlers.ofInputStream());
+            } catch (IOException e) {
+                span.error(e);
+                throw e;
+            }
+            span.status(response.statusCode());
+            if (response.statusCode() != 200) {
+                LOG.fine(() -> "Status code from " + repository + " is not 200: " + response.statusCode());
+                if (response.statusCode() == 404) {
+                    negativeCache.markMissing(repository.toString(), coordinate);
                 }
+                return null;
             }
+
+            try (var is = response.body()) {
+                body = is.readAllBytes();
+            }
+            span.attribute("http.response.body.size", body.length);
+        }
+
+        try (var _ = Timings.start(Timings.Phase.VERSION, coordinate);
+                var isr = new InputStreamReader(new ByteArrayInputStream(body))) {
+            return parse(isr, release);
         } catch (XMLStreamException e) {
             throw new IllegalStateException(e);
-        } finally {
-            LOG.fine(() -> "Parsed in %sms".formatted(System.currentTimeMillis() - t1));
+        }
+    }
+
+    // The release, or the latest version, in maven-metadata.xml, or else the highest of its versions.
+    static String parse(Reader input, boolean release) throws XMLStreamException {
+        var factory = XMLInputFactory.newInstance();
+        var reader = factory.createXMLStreamReader(input);
+        var inMetadata = false;
+        var inVersioning = false;
+        var inLatest = false;
+        var inRelease = false;
+        List<String> versions = null;
+        var inVersion = false;
+
+        while (reader.hasNext()) {
+            var event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    switch (reader.getLocalName()) {
+                        case "metadata":
+                            inMetadata = true;
+                            break;
+                        case "versioning":
+                            if (!inMetadata) {
+                                throw new IllegalStateException("Invalid metadata file");
+                            }
+                            inVersioning = true;
+                            break;
+                        case "latest":
+                            if (!inMetadata && !inVersioning) {
+                                throw new IllegalStateException("Invalid metadata file");
+                            }
+
+                            inLatest = true;
+                            break;
+                        case "release":
+                            if (!inMetadata && !inVersioning) {
+                                throw new IllegalStateException("Invalid metadata file");
+                            }
+
+                            inRelease = true;
+                            break;
+                        case "versions":
+                            versions = new ArrayList<>();
+                            break;
+                        case "version":
+                            if (versions == null) {
+                                throw new IllegalStateException("Unexpected element <version>");
+                            }
+                            inVersion = true;
+                            break;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                    var text = reader.getText();
+                    if (((release && inRelease) || (!release && inLatest))
+                            && followsRules(text)) {
+                        return text;
+                    } else if (inVersion) {
+                        versions.add(text);
+                    }
+
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    switch (reader.getLocalName()) {
+                        case "latest":
+                            inLatest = false;
+                            break;
+                        case "release":
+                            inRelease = false;
+                            break;
+                        case "version":
+                            inVersion = false;
+                            break;
+                        case "versions":
+                            var version = versions.stream().sorted(Collections.reverseOrder())
+                                    .filter(GetLatestVersion::followsRules)
+                                    .findFirst().orElse(null);
+                            // if none follow the rules, return the latest.
+                            return (version == null)
+                                    ? versions.stream().sorted(Collections.reverseOrder()).limit(1)
+                                            .findFirst().orElseThrow()
+                                    : version;
+                    }
+                    break;
+            }
         }
 
         return null;
     }
 
-    private boolean followsRules(String text) {
+    private static boolean followsRules(String text) {
         return Stream.of("-alpha", "-beta", "-rc").noneMatch(text::contains);
     }
 
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.DefaultModelReader;
+
+// Keeps the dependency graphs of projects. A graph is keyed by everything its resolution reads locally: the POM, the
+// local parent POMs, and the settings of the resolver. Graphs with versions picked from repository metadata, such as
+// snapshots and version ranges, are not kept, since the next resolution may pick others. The least recently used
+// entries are removed once the cache grows past its size.
+public class GraphCache {
+
+    private static final Logger LOG = Logger.getLogger("");
+    // As many as ProjectWorkspaceReader follows.
+    private static final int MAX_PARENTS = 10;
+
+    private static GraphCache instance;
+
+    private final Path directory;
+    private final long maxSize;
+
+    public GraphCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    public static synchronized GraphCache getInstance() {
+        if (instance == null) {
+            var config = Config.getInstance();
+            instance = new GraphCache(config.getCacheDirectory().resolve("graphs"), config.getGraphCacheSize());
+        }
+
+        return instance;
+    }
+
+    public DependencyGraph get(Path pomFile, Model pom, Supplier<DependencyGraph> resolver) throws IOException {
+        if (maxSize <= 0) {
+            return resolver.get();
+        }
+
+        var file = directory.resolve(key(pomFile, pom));
+        try {
+            var graph = DependencyGraph.read(file);
+            CacheDirectory.touch(file);
+            LOG.fine(() -> "Read the dependency graph of " + pomFile + " from the graph cache");
+            return graph;
+        } catch (NoSuchFileException e) {
+            // Not cached.
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.FINE, e, () -> "Ignoring unreadable graph cache entry " + file);
+        }
+
+        var graph = resolver.get();
+        if (graph.isFromMetadata()) {
+            LOG.fine(() -> "Not caching the dependency graph of " + pomFile + " as it has changing versions");
+            return graph;
+        }
+
+        try {
+            graph.write(file);
+            CacheDirectory.evict(directory, maxSize);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to write graph cache entry " + file);
+        }
+
+        return graph;
+    }
+
+    private String key(Path pomFile, Model pom) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        var config = Config.getInstance();
+        update(digest, config.getRepositoryUrl().toString());
+        update(digest, config.getChecksumPolicy().orElse(""));
+        update(digest, config.getUpdatePolicy().orElse(""));
+        update(digest, Path.of(System.getProperty("user.home"), ".m2", "repository").toString());
+        update(digest, pomFile.toAbsolutePath().normalize().toString());
+        digest.update(Files.readAllBytes(pomFile));
+
+        // The same parents that the resolution reads from the disk rather than from the repository.
+        var finder = new ParentPomFinder(new DefaultModelReader(null));
+        var path = pomFile;
+        var current = pom;
+        for (var i = 0; i < MAX_PARENTS && current.getParent() instanceof Parent parent; i++) {
+            var parentPath = finder.findLocal(path, parent).orElse(null);
+            if (parentPath == null) {
+                break;
+            }
+
+            current = ModelCache.getInstance().read(parentPath, new DefaultModelReader(null));
+            if (!Objects.equals(parent.getArtifactId(), current.getArtifactId())) {
+                break;
+            }
+
+            update(digest, parentPath.toAbsolutePath().normalize().toString());
+            digest.update(Files.readAllBytes(parentPath));
+            path = parentPath;
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+}
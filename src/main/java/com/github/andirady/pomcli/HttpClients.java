@@ -0,0 +1,74 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+public final class HttpClients {
+
+    private static HttpClient defaultClient;
+    private static final Map<String, Permits> permits = new ConcurrentHashMap<>();
+
+    private record Permits(Semaphore semaphore, int limit) {
+    }
+
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private HttpClients() {
+    }
+
+    public static synchronized HttpClient getDefault() {
+        if (defaultClient == null) {
+            defaultClient = HttpClient.newBuilder().version(Version.HTTP_2).followRedirects(Redirect.NORMAL).build();
+        }
+
+        return defaultClient;
+    }
+
+    // A permit for a request in flight to the host of the URI, to be held until the body has been read. There are as
+    // many per host as resolver.threads, as the lookups run on virtual threads and are not otherwise limited.
+    public static Permit acquire(URI uri) throws InterruptedException {
+        var limit = Config.getInstance().getResolverThreads();
+        var semaphore = permits.compute(Objects.toString(uri.getAuthority(), ""),
+                (_, p) -> p != null && p.limit() == limit ? p : new Permits(new Semaphore(limit), limit)).semaphore();
+        semaphore.acquire();
+        return semaphore::release;
+    }
+
+    // Sends the request holding a permit, for body handlers that read the whole body before send returns.
+    public static <T> HttpResponse<T> send(HttpClient client, HttpRequest request, BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        try (var _ = acquire(request.uri())) {
+            return client.send(request, bodyHandler);
+        }
+    }
+
+}
@@ -20,6 +20,8 @@ import java.io.UncheckedIOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -27,7 +29,6 @@ import java.util.regex.Pattern;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.apache.maven.model.io.DefaultModelReader;
-import org.apache.maven.model.io.DefaultModelWriter;
 
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Help.Ansi;
@@ -41,6 +42,13 @@ public class IdCommand implements Callable<Integer> {
 
     private static final Logger LOG = Logger.getLogger(IdCommand.class.getName());
     private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private static final List<String> ID_PATHS = List.of("project/groupId", "project/artifactId", "project/version",
+            "project/packaging", "project/parent/groupId", "project/parent/artifactId", "project/parent/version",
+            "project/parent/relativePath");
+    // The project ID comes before these, by convention, so there is no need to read further, e.g. for a parent or a
+    // packaging that is not there.
+    private static final List<String> ID_SECTION_ENDS = List.of("project/dependencyManagement",
+            "project/dependencies", "project/build", "project/reporting", "project/profiles");
 
     @Option(names = { "--as" })
     String as;
@@ -88,7 +96,7 @@ public class IdCommand implements Callable<Integer> {
 
         if (id != null) {
             updatePom();
-        } else if (Files.notExists(pomPath)) {
+        } else if (!PomSession.current().exists(pomPath)) {
             spec.commandLine().getErr()
                     .println(Ansi.AUTO.string("@|bold,fg(red) No such file:|@ @|fg(red) " + pomPath + "|@"));
             return 1;
@@ -100,14 +108,47 @@ public class IdCommand implements Callable<Integer> {
     }
 
     String readProjectId() {
-        var pomReader = new DefaultModelReader(null);
-        Model pom;
-        try (var is = Files.newInputStream(pomPath)) {
-            pom = pomReader.read(is, null);
+        var pending = PomSession.current().pending(pomPath);
+        if (pending.isPresent()) {
+            return readProjectId(pending.get());
+        }
+
+        Map<String, String> values;
+        try {
+            values = PomExtractor.extract(pomPath, ID_PATHS, ID_SECTION_ENDS);
+            if (!values.containsKey("project/artifactId") || !values.containsKey("project/parent/artifactId")
+                    && !(values.containsKey("project/groupId") && values.containsKey("project/version"))) {
+                // Not in the conventional order.
+                values = PomExtractor.extract(pomPath, ID_PATHS);
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
 
+        var g = values.get("project/groupId");
+        var v = getVersion(values.get("project/version"));
+        var parentArtifactId = values.get("project/parent/artifactId");
+        if (parentArtifactId != null) {
+            if (g == null) {
+                g = values.get("project/parent/groupId");
+            }
+            if (v == null) {
+                var parent = new Parent();
+                parent.setGroupId(values.get("project/parent/groupId"));
+                parent.setArtifactId(parentArtifactId);
+                parent.setVersion(values.get("project/parent/version"));
+                var relativePath = values.get("project/parent/relativePath");
+                if (relativePath != null) {
+                    parent.setRelativePath(relativePath);
+                }
+                v = getVersion(parent);
+            }
+        }
+        var packaging = values.getOrDefault("project/packaging", "jar");
+        return packaging + " " + g + ":" + values.get("project/artifactId") + ":" + v;
+    }
+
+    private String readProjectId(Model pom) {
         var g = pom.getGroupId();
         var v = getVersion(pom);
         var parent = pom.getParent();
@@ -128,11 +169,10 @@ public class IdCommand implements Callable<Integer> {
         }
 
         Model pom;
-        var reader = new DefaultModelReader(null);
-        if (Files.exists(pomPath)) {
+        if (PomSession.current().exists(pomPath)) {
             LOG.fine(() -> "Reading existing pom at " + pomPath);
-            try (var is = Files.newInputStream(pomPath)) {
-                pom = reader.read(is, null);
+            try {
+                pom = PomFiles.read(pomPath);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
@@ -147,9 +187,8 @@ public class IdCommand implements Callable<Integer> {
             pom.setPackaging(as);
         }
 
-        var pomWriter = new DefaultModelWriter();
-        try (var os = Files.newOutputStream(pomPath)) {
-            pomWriter.write(os, null, pom);
+        try {
+            PomFiles.write(pomPath, pom);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -212,4 +251,22 @@ public class IdCommand implements Callable<Integer> {
         return v;
     }
 
+    private String getVersion(String v) {
+        if (v == null) {
+            return null;
+        }
+
+        var m = PLACEHOLDER_PATTERN.matcher(v);
+        if (m.matches()) {
+            var propPath = "project/properties/" + m.group(1);
+            try {
+                return PomExtractor.extract(pomPath, List.of(propPath)).getOrDefault(propPath, v);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return v;
+    }
+
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+// Runs blocking lookups each on a virtual thread, so they are not limited by the number of CPUs. The first failure, or
+// the deadline, interrupts the rest. The call waits for them to stop until the deadline, plus a grace period for the
+// interrupted ones, and leaves behind those that ignore interrupts, e.g. in the resolver's own thread pool. The tasks
+// run in the POM session of the caller, which a new thread would not see otherwise.
+final class Lookups {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final Duration GRACE = Duration.ofSeconds(1);
+
+    private Lookups() {
+    }
+
+    static <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> task, Duration timeout) {
+        var deadline = System.nanoTime() + timeout.toNanos();
+        var session = PomSession.current();
+        var executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lookup-", 0).factory());
+        try {
+            var completion = new ExecutorCompletionService<R>(executor);
+            List<Future<R>> futures = items.stream().map(i -> completion.submit(() -> session.run(() -> task.apply(i)))).toList();
+            for (var i = 0; i < futures.size(); i++) {
+                var done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new IllegalStateException("Lookups did not finish within " + timeout.toSeconds() + "s");
+                }
+                done.get();
+            }
+
+            return futures.stream().map(Future::resultNow).toList();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor, Math.max(deadline - System.nanoTime(), 0) + GRACE.toNanos());
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor, long nanos) {
+        try {
+            if (!executor.awaitTermination(nanos, TimeUnit.NANOSECONDS)) {
+                LOG.fine("Some lookups did not stop when interrupted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
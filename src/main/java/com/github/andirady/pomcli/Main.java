@@ -15,50 +15,87 @@
  */
 package com.github.andirady.pomcli;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.io.UncheckedIOException;
-import java.net.URI;
-import java.nio.file.FileSystems;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
+import java.util.zip.ZipFile;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.io.DefaultModelReader;
 
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.ExecutionException;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParseResult;
+import picocli.CommandLine.RunLast;
 import picocli.CommandLine.ScopeType;
+import picocli.CommandLine.Spec;
 import picocli.CommandLine.TypeConversionException;
 
 @Command(name = "pom", subcommandsRepeatable = true, subcommands = { IdCommand.class, AddCommand.class,
         SearchCommand.class, SetCommand.class, UnsetCommand.class, GetCommand.class,
         PlugCommand.class, UnplugCommand.class,
-        RemoveCommand.class, SetParentCommand.class })
-public class Main {
+        RemoveCommand.class, SetParentCommand.class, TreeCommand.class, WhyCommand.class, DaemonCommand.class })
+public class Main implements Callable<Integer> {
+
+    private static final int MAX_ATTEMPTS = 3;
 
     public static void main(String[] args) {
+        if (!List.of(args).contains("daemon")) {
+            Timings.recordStartup(List.of(args).contains("--timings"));
+            var forwarded = Daemon.forward(Daemon.socketPath(Daemon.workingDirectory()), args);
+            if (forwarded.isPresent()) {
+                System.exit(forwarded.getAsInt());
+            }
+        }
+
+        try {
+            System.exit(execute(args));
+        } catch (Exception e) {
+            Logger.getLogger("").log(Level.FINE, e, e::getMessage);
+        }
+    }
+
+    static int execute(String[] args) {
+        Timings.reset();
+        Trace.reset();
+        Providers.ifCreated(ResolutionProvider.class).ifPresent(ResolutionProvider::clearCache);
         var main = new Main();
         if (Boolean.getBoolean("debug")) {
             main.setDebug(true);
         }
 
         var cli = createCommandLine(main);
-        try (var out = new PrintWriter(System.out, true)) {
-            cli.setOut(out);
-
-            System.exit(cli.execute(args));
-        } catch (Exception e) {
-            Logger.getLogger("").log(Level.FINE, e, e::getMessage);
+        var out = new PrintWriter(System.out, true);
+        cli.setOut(out);
+        var exitCode = 1;
+        try {
+            exitCode = cli.execute(args);
+            return exitCode;
+        } finally {
+            out.flush();
+            if (Timings.isEnabled()) {
+                Timings.print(System.err);
+            }
+            Trace.finish(List.of(args), exitCode);
         }
     }
 
@@ -76,12 +113,83 @@ public class Main {
                     ? cmd.getExitCodeExceptionMapper().getExitCode(e)
                     : cmd.getCommandSpec().exitCodeOnExecutionException();
         });
+        cli.setExecutionStrategy(Main::executeInSession);
         cli.registerConverter(QuerySpec.class, Main::stringToQuerySpec);
         cli.registerConverter(Dependency.class, Main::stringToDependency);
 
         return cli;
     }
 
+    // Runs the subcommands against a single POM session, and writes the changes only if all of them succeed. The
+    // commands of a batch join the session of the batch instead, which is written once all of them succeed.
+    // When a POM to be written was changed since it was read, the subcommands run again against the new content,
+    // this time holding the lock on that POM from the start. Their output was already printed, so it is dropped.
+    static int executeInSession(ParseResult parseResult) {
+        if (PomSession.current().isDeferred()) {
+            return new RunLast().execute(parseResult);
+        }
+
+        var cli = parseResult.commandSpec().commandLine();
+        var out = cli.getOut();
+        Set<Path> toWrite = Set.of();
+        try {
+            for (var attempt = 1;; attempt++) {
+                try (var session = PomSession.begin(toWrite)) {
+                    var rc = new RunLast().execute(parseResult);
+                    if (rc == 0 && !anyFailed(parseResult)) {
+                        session.commit();
+                    }
+
+                    return rc;
+                } catch (PomSession.ChangedException e) {
+                    if (attempt == MAX_ATTEMPTS || !isRepeatable(parseResult)) {
+                        throw new ExecutionException(cli, e.getMessage() + ". Run the command again.", e);
+                    }
+
+                    Logger.getLogger("").fine(() -> e.getMessage() + ", running the commands again");
+                    toWrite = e.paths();
+                    cli.setOut(new PrintWriter(Writer.nullWriter()));
+                } catch (IOException e) {
+                    throw new ExecutionException(cli, e.getMessage(), e);
+                }
+            }
+        } finally {
+            cli.setOut(out);
+        }
+    }
+
+    // A batch read from stdin cannot be read again.
+    private static boolean isRepeatable(ParseResult parseResult) {
+        return !(parseResult.commandSpec().userObject() instanceof Main main && main.batch != null
+                && main.batch.toString().equals("-"));
+    }
+
+    static boolean anyFailed(ParseResult parseResult) {
+        return parseResult.asCommandLineList().stream()
+                .map(CommandLine::getExecutionResult)
+                .anyMatch(r -> r instanceof Integer i && i != 0);
+    }
+
+    @Spec
+    CommandSpec spec;
+
+    @Option(names = { "--batch" }, paramLabel = "FILE",
+            description = "Run the commands in the file, one per line, or from stdin if FILE is -")
+    Path batch;
+
+    @Override
+    public Integer call() throws IOException {
+        if (batch == null) {
+            throw new ParameterException(spec.commandLine(), "Missing required subcommand");
+        }
+
+        try (var reader = batch.toString().equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(batch)) {
+            return Batch.run(reader, spec.commandLine());
+        }
+    }
+
     private String profileId;
 
     @Option(names = { "-P", "--profile" }, scope = ScopeType.INHERIT)
@@ -107,6 +215,44 @@ public class Main {
         rootLogger.addHandler(consoleHandler);
     }
 
+    @Option(names = { "--timings" }, scope = ScopeType.INHERIT,
+            description = "Print where the time was spent, after the commands ran")
+    public void setTimings(boolean timings) {
+        if (timings) {
+            Timings.setEnabled(true);
+        }
+    }
+
+    @Option(names = { "--trace-file" }, paramLabel = "FILE", scope = ScopeType.INHERIT,
+            description = "Append the remote requests as a line of OpenTelemetry JSON to the file")
+    public void setTraceFile(Path traceFile) {
+        System.setProperty("pomcli.trace.file", traceFile.toString());
+    }
+
+    @Option(names = { "--threads" }, paramLabel = "N", scope = ScopeType.INHERIT,
+            description = "Number of parallel downloads, and of requests in flight to a host")
+    public void setThreads(int threads) {
+        System.setProperty("pomcli.resolver.threads", String.valueOf(threads));
+    }
+
+    @Option(names = { "--checksum-policy" }, paramLabel = "fail|warn|ignore", scope = ScopeType.INHERIT,
+            description = "What to do when a downloaded file does not match its checksum")
+    public void setChecksumPolicy(String checksumPolicy) {
+        System.setProperty("pomcli.checksum.policy", checksumPolicy);
+    }
+
+    @Option(names = { "--update-policy" }, paramLabel = "always|daily|never|interval:N", scope = ScopeType.INHERIT,
+            description = "How often remote metadata is checked for updates")
+    public void setUpdatePolicy(String updatePolicy) {
+        System.setProperty("pomcli.update.policy", updatePolicy);
+    }
+
+    @Option(names = { "--repository" }, paramLabel = "URL", scope = ScopeType.INHERIT,
+            description = "Repository used instead of Maven Central")
+    public void setRepository(String repositoryUrl) {
+        System.setProperty("pomcli.repository.url", repositoryUrl);
+    }
+
     static QuerySpec stringToQuerySpec(String s) {
         var qs = QuerySpec.of(s);
         if (qs.groupId() == null) {
@@ -149,32 +295,22 @@ public class Main {
     }
 
     private static Dependency readCoordFromJarFile(Path path) {
-        try {
-            var uri = URI.create("jar:" + path.toRealPath().toAbsolutePath().toUri());
-            try (var fs = FileSystems.newFileSystem(uri, Map.of())) {
-                var mavenPath = fs.getPath("", "META-INF", "maven");
-                if (Files.notExists(mavenPath)) {
-                    throw new TypeConversionException("No maven metadata");
-                }
-
-                try (var pathStream = Files.walk(mavenPath)) {
-                    var pomPropPath = pathStream.filter(Files::isDirectory)
-                            .map(p -> p.resolve("pom.properties"))
-                            .filter(Files::exists)
-                            .findFirst()
-                            .orElseThrow(() -> new TypeConversionException("No maven metadata"));
-                    var prop = new Properties();
-                    try (var is = Files.newInputStream(pomPropPath)) {
-                        prop.load(is);
-                    }
-
-                    var d = new Dependency();
-                    d.setGroupId(prop.getProperty("groupId"));
-                    d.setArtifactId(prop.getProperty("artifactId"));
-                    d.setVersion(prop.getProperty("version"));
-                    return d;
-                }
+        // Reads the entries directly rather than mounting the jar as a file system.
+        try (var jar = new ZipFile(path.toFile())) {
+            var entry = jar.stream()
+                    .filter(e -> e.getName().startsWith("META-INF/maven/") && e.getName().endsWith("/pom.properties"))
+                    .findFirst()
+                    .orElseThrow(() -> new TypeConversionException("No maven metadata"));
+            var prop = new Properties();
+            try (var is = jar.getInputStream(entry)) {
+                prop.load(is);
             }
+
+            var d = new Dependency();
+            d.setGroupId(prop.getProperty("groupId"));
+            d.setArtifactId(prop.getProperty("artifactId"));
+            d.setVersion(prop.getProperty("version"));
+            return d;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -186,7 +322,7 @@ public class Main {
         }
 
         var pomReader = new DefaultModelReader(null);
-        try (var is = Files.newInputStream(path)) {
+        try (var is = PomInput.open(path)) {
             var pom = pomReader.read(is, null);
             var d = new Dependency();
             var g = pom.getGroupId();
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.ModelReader;
+
+// Keeps parsed POMs in the compact form of ModelCodec, which is read back much faster than the XML is parsed.
+// Local files are keyed by their real path, size and modification time, released remote POMs by their coordinates.
+// The least recently used entries are removed once the cache grows past its size.
+public class ModelCache {
+
+    private static final Logger LOG = Logger.getLogger("");
+
+    private static ModelCache instance;
+
+    private final Path directory;
+    private final long maxSize;
+
+    public ModelCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    public static synchronized ModelCache getInstance() {
+        if (instance == null) {
+            var config = Config.getInstance();
+            instance = new ModelCache(config.getCacheDirectory().resolve("models"), config.getModelCacheSize());
+        }
+
+        return instance;
+    }
+
+    public Model read(Path pomPath, ModelReader reader) throws IOException {
+        var attributes = Files.readAttributes(pomPath, BasicFileAttributes.class);
+        var key = "file:" + pomPath.toRealPath() + "|" + attributes.size() + "|"
+                + attributes.lastModifiedTime().toMillis();
+        return read(key, pomPath, reader);
+    }
+
+    public Model read(String groupId, String artifactId, String version, Path pomPath, ModelReader reader)
+            throws IOException {
+        if (version.endsWith("-SNAPSHOT")) {
+            return parse(pomPath, reader);
+        }
+
+        return read("gav:" + groupId + ":" + artifactId + ":" + version, pomPath, reader);
+    }
+
+    private Model read(String key, Path pomPath, ModelReader reader) throws IOException {
+        if (maxSize <= 0) {
+            return parse(pomPath, reader);
+        }
+
+        var file = directory.resolve(hash(key));
+        try {
+            var model = ModelCodec.decode(Files.readAllBytes(file));
+            CacheDirectory.touch(file);
+            LOG.fine(() -> "Read " + pomPath + " from the model cache");
+            return new Model(model);
+        } catch (NoSuchFileException e) {
+            // Not cached.
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to read model cache entry " + file);
+        }
+
+        var model = parse(pomPath, reader);
+        try {
+            Files.createDirectories(directory);
+            var temp = Files.createTempFile(directory, "model", ".tmp");
+            Files.write(temp, ModelCodec.encode(model.getDelegate()));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CacheDirectory.evict(directory, maxSize);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to write model cache entry " + file);
+        }
+
+        return model;
+    }
+
+    private Model parse(Path pomPath, ModelReader reader) throws IOException {
+        try (var is = PomInput.open(pomPath)) {
+            return reader.read(is, null);
+        }
+    }
+
+    private String hash(String key) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,976 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.apache.maven.api.model.Activation;
+import org.apache.maven.api.model.ActivationFile;
+import org.apache.maven.api.model.ActivationOS;
+import org.apache.maven.api.model.ActivationProperty;
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.BuildBase;
+import org.apache.maven.api.model.CiManagement;
+import org.apache.maven.api.model.Contributor;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.DeploymentRepository;
+import org.apache.maven.api.model.Developer;
+import org.apache.maven.api.model.DistributionManagement;
+import org.apache.maven.api.model.Exclusion;
+import org.apache.maven.api.model.Extension;
+import org.apache.maven.api.model.IssueManagement;
+import org.apache.maven.api.model.License;
+import org.apache.maven.api.model.MailingList;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Notifier;
+import org.apache.maven.api.model.Organization;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.model.PluginExecution;
+import org.apache.maven.api.model.PluginManagement;
+import org.apache.maven.api.model.Prerequisites;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.model.Relocation;
+import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.model.ReportSet;
+import org.apache.maven.api.model.Reporting;
+import org.apache.maven.api.model.Repository;
+import org.apache.maven.api.model.RepositoryPolicy;
+import org.apache.maven.api.model.Resource;
+import org.apache.maven.api.model.Scm;
+import org.apache.maven.api.model.Site;
+import org.apache.maven.api.xml.XmlNode;
+
+// A compact binary form of the model. Every string is written once and referred to by index afterwards, so the
+// repeated group ids and element names of large parent and BOM POMs cost a few bytes each. Input locations and the
+// POM file are not kept.
+final class ModelCodec {
+
+    private static final int MAGIC = 0x504f4d02;
+    // Snapshots written with another version of the model classes, which may have other fields, are not read.
+    private static final String MODEL_VERSION = modelVersion();
+
+    private ModelCodec() {
+    }
+
+    static byte[] encode(Model model) {
+        var bytes = new ByteArrayOutputStream(4096);
+        try (var out = new Out(new DataOutputStream(bytes))) {
+            out.data.writeInt(MAGIC);
+            out.data.writeUTF(MODEL_VERSION);
+            writeModel(out, model);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Model decode(byte[] bytes) throws IOException {
+        var in = new In(new DataInputStream(new ByteArrayInputStream(bytes)));
+        if (in.data.readInt() != MAGIC) {
+            throw new IOException("Not a model snapshot");
+        }
+        var version = in.data.readUTF();
+        if (!version.equals(MODEL_VERSION)) {
+            throw new IOException("Model snapshot of version " + version);
+        }
+        return readModel(in);
+    }
+
+    private static String modelVersion() {
+        try (var in = Model.class.getResourceAsStream(
+                "/META-INF/maven/org.apache.maven/maven-api-model/pom.properties")) {
+            if (in != null) {
+                var properties = new Properties();
+                properties.load(in);
+                if (properties.getProperty("version") instanceof String version) {
+                    return version;
+                }
+            }
+        } catch (IOException e) {
+            // Falls back to the manifest.
+        }
+
+        return Objects.requireNonNullElse(Model.class.getPackage().getImplementationVersion(), "unknown");
+    }
+
+    private static void writeModel(Out o, Model m) throws IOException {
+        o.str(m.getNamespaceUri());
+        o.str(m.getModelEncoding());
+        o.str(m.getModelVersion());
+        o.obj(m.getParent(), ModelCodec::writeParent);
+        o.str(m.getGroupId());
+        o.str(m.getArtifactId());
+        o.str(m.getVersion());
+        o.str(m.getPackaging());
+        o.str(m.getName());
+        o.str(m.getDescription());
+        o.str(m.getUrl());
+        o.str(m.getChildProjectUrlInheritAppendPath());
+        o.bool(m.isRoot());
+        o.bool(m.isPreserveModelVersion());
+        o.str(m.getInceptionYear());
+        o.obj(m.getOrganization(), (out, v) -> {
+            out.str(v.getName());
+            out.str(v.getUrl());
+        });
+        o.list(m.getLicenses(), (out, v) -> {
+            out.str(v.getName());
+            out.str(v.getUrl());
+            out.str(v.getDistribution());
+            out.str(v.getComments());
+        });
+        o.list(m.getDevelopers(), (out, v) -> {
+            out.str(v.getId());
+            writeContributor(out, v);
+        });
+        o.list(m.getContributors(), ModelCodec::writeContributor);
+        o.list(m.getMailingLists(), (out, v) -> {
+            out.str(v.getName());
+            out.str(v.getSubscribe());
+            out.str(v.getUnsubscribe());
+            out.str(v.getPost());
+            out.str(v.getArchive());
+            out.strs(v.getOtherArchives());
+        });
+        o.obj(m.getPrerequisites(), (out, v) -> out.str(v.getMaven()));
+        o.obj(m.getScm(), (out, v) -> {
+            out.str(v.getConnection());
+            out.str(v.getDeveloperConnection());
+            out.str(v.getTag());
+            out.str(v.getUrl());
+            out.str(v.getChildScmConnectionInheritAppendPath());
+            out.str(v.getChildScmDeveloperConnectionInheritAppendPath());
+            out.str(v.getChildScmUrlInheritAppendPath());
+        });
+        o.obj(m.getIssueManagement(), (out, v) -> {
+            out.str(v.getSystem());
+            out.str(v.getUrl());
+        });
+        o.obj(m.getCiManagement(), (out, v) -> {
+            out.str(v.getSystem());
+            out.str(v.getUrl());
+            out.list(v.getNotifiers(), (o2, n) -> {
+                o2.str(n.getType());
+                o2.bool(n.isSendOnError());
+                o2.bool(n.isSendOnFailure());
+                o2.bool(n.isSendOnSuccess());
+                o2.bool(n.isSendOnWarning());
+                o2.str(n.getAddress());
+                o2.map(n.getConfiguration());
+            });
+        });
+        o.obj(m.getBuild(), (out, v) -> {
+            writeBuildBase(out, v);
+            out.str(v.getSourceDirectory());
+            out.str(v.getScriptSourceDirectory());
+            out.str(v.getTestSourceDirectory());
+            out.str(v.getOutputDirectory());
+            out.str(v.getTestOutputDirectory());
+            out.list(v.getExtensions(), (o2, e) -> {
+                o2.str(e.getGroupId());
+                o2.str(e.getArtifactId());
+                o2.str(e.getVersion());
+                o2.xml(e.getConfiguration());
+            });
+        });
+        o.list(m.getProfiles(), (out, v) -> {
+            out.str(v.getId());
+            out.obj(v.getActivation(), ModelCodec::writeActivation);
+            out.obj(v.getBuild(), ModelCodec::writeBuildBase);
+            writeModelBase(out, v.getModules(), v.getDistributionManagement(), v.getProperties(),
+                    v.getDependencyManagement(), v.getDependencies(), v.getRepositories(), v.getPluginRepositories(),
+                    v.getReporting());
+        });
+        writeModelBase(o, m.getModules(), m.getDistributionManagement(), m.getProperties(),
+                m.getDependencyManagement(), m.getDependencies(), m.getRepositories(), m.getPluginRepositories(),
+                m.getReporting());
+    }
+
+    private static Model readModel(In i) throws IOException {
+        var b = Model.newBuilder()
+                .namespaceUri(i.str())
+                .modelEncoding(i.str())
+                .modelVersion(i.str())
+                .parent(i.obj(ModelCodec::readParent))
+                .groupId(i.str())
+                .artifactId(i.str())
+                .version(i.str())
+                .packaging(i.str())
+                .name(i.str())
+                .description(i.str())
+                .url(i.str())
+                .childProjectUrlInheritAppendPath(i.str())
+                .root(i.bool())
+                .preserveModelVersion(i.bool())
+                .inceptionYear(i.str())
+                .organization(i.obj(in -> Organization.newBuilder().name(in.str()).url(in.str()).build()))
+                .licenses(i.list(in -> License.newBuilder()
+                        .name(in.str())
+                        .url(in.str())
+                        .distribution(in.str())
+                        .comments(in.str())
+                        .build()))
+                .developers(i.list(in -> {
+                    var id = in.str();
+                    var c = readContributor(in);
+                    return Developer.newBuilder()
+                            .id(id)
+                            .name(c.getName())
+                            .email(c.getEmail())
+                            .url(c.getUrl())
+                            .organization(c.getOrganization())
+                            .organizationUrl(c.getOrganizationUrl())
+                            .roles(c.getRoles())
+                            .timezone(c.getTimezone())
+                            .properties(c.getProperties())
+                            .build();
+                }))
+                .contributors(i.list(ModelCodec::readContributor))
+                .mailingLists(i.list(in -> MailingList.newBuilder()
+                        .name(in.str())
+                        .subscribe(in.str())
+                        .unsubscribe(in.str())
+                        .post(in.str())
+                        .archive(in.str())
+                        .otherArchives(in.strs())
+                        .build()))
+                .prerequisites(i.obj(in -> Prerequisites.newBuilder().maven(in.str()).build()))
+                .scm(i.obj(in -> Scm.newBuilder()
+                        .connection(in.str())
+                        .developerConnection(in.str())
+                        .tag(in.str())
+                        .url(in.str())
+                        .childScmConnectionInheritAppendPath(in.str())
+                        .childScmDeveloperConnectionInheritAppendPath(in.str())
+                        .childScmUrlInheritAppendPath(in.str())
+                        .build()))
+                .issueManagement(i.obj(in -> IssueManagement.newBuilder().system(in.str()).url(in.str()).build()))
+                .ciManagement(i.obj(in -> CiManagement.newBuilder()
+                        .system(in.str())
+                        .url(in.str())
+                        .notifiers(in.list(i2 -> Notifier.newBuilder()
+                                .type(i2.str())
+                                .sendOnError(i2.bool())
+                                .sendOnFailure(i2.bool())
+                                .sendOnSuccess(i2.bool())
+                                .sendOnWarning(i2.bool())
+                                .address(i2.str())
+                                .configuration(i2.map())
+                                .build()))
+                        .build()))
+                .build(i.obj(in -> {
+                    var base = readBuildBase(in);
+                    return Build.newBuilder()
+                            .plugins(base.getPlugins())
+                            .pluginManagement(base.getPluginManagement())
+                            .defaultGoal(base.getDefaultGoal())
+                            .resources(base.getResources())
+                            .testResources(base.getTestResources())
+                            .directory(base.getDirectory())
+                            .finalName(base.getFinalName())
+                            .filters(base.getFilters())
+                            .sourceDirectory(in.str())
+                            .scriptSourceDirectory(in.str())
+                            .testSourceDirectory(in.str())
+                            .outputDirectory(in.str())
+                            .testOutputDirectory(in.str())
+                            .extensions(in.list(i2 -> Extension.newBuilder()
+                                    .groupId(i2.str())
+                                    .artifactId(i2.str())
+                                    .version(i2.str())
+                                    .configuration(i2.xml())
+                                    .build()))
+                            .build();
+                }))
+                .profiles(i.list(in -> {
+                    var p = Profile.newBuilder()
+                            .id(in.str())
+                            .activation(in.obj(ModelCodec::readActivation))
+                            .build(in.obj(ModelCodec::readBuildBase));
+                    return p.modules(in.strs())
+                            .distributionManagement(in.obj(ModelCodec::readDistributionManagement))
+                            .properties(in.map())
+                            .dependencyManagement(in.obj(
+                                    i2 -> DependencyManagement.newBuilder().dependencies(i2.list(ModelCodec::readDependency)).build()))
+                            .dependencies(in.list(ModelCodec::readDependency))
+                            .repositories(in.list(ModelCodec::readRepository))
+                            .pluginRepositories(in.list(ModelCodec::readRepository))
+                            .reporting(in.obj(ModelCodec::readReporting))
+                            .build();
+                }));
+        return b.modules(i.strs())
+                .distributionManagement(i.obj(ModelCodec::readDistributionManagement))
+                .properties(i.map())
+                .dependencyManagement(i.obj(
+                        in -> DependencyManagement.newBuilder().dependencies(in.list(ModelCodec::readDependency)).build()))
+                .dependencies(i.list(ModelCodec::readDependency))
+                .repositories(i.list(ModelCodec::readRepository))
+                .pluginRepositories(i.list(ModelCodec::readRepository))
+                .reporting(i.obj(ModelCodec::readReporting))
+                .build();
+    }
+
+    private static void writeModelBase(Out o, List<String> modules, DistributionManagement distributionManagement,
+            Map<String, String> properties, DependencyManagement dependencyManagement, List<Dependency> dependencies,
+            List<Repository> repositories, List<Repository> pluginRepositories, Reporting reporting)
+            throws IOException {
+        o.strs(modules);
+        o.obj(distributionManagement, (out, v) -> {
+            out.obj(v.getRepository(), ModelCodec::writeRepository);
+            out.obj(v.getSnapshotRepository(), ModelCodec::writeRepository);
+            out.obj(v.getSite(), (o2, s) -> {
+                o2.str(s.getId());
+                o2.str(s.getName());
+                o2.str(s.getUrl());
+                o2.str(s.getChildSiteUrlInheritAppendPath());
+            });
+            out.str(v.getDownloadUrl());
+            out.obj(v.getRelocation(), (o2, r) -> {
+                o2.str(r.getGroupId());
+                o2.str(r.getArtifactId());
+                o2.str(r.getVersion());
+                o2.str(r.getMessage());
+            });
+            out.str(v.getStatus());
+        });
+        o.map(properties);
+        o.obj(dependencyManagement, (out, v) -> out.list(v.getDependencies(), ModelCodec::writeDependency));
+        o.list(dependencies, ModelCodec::writeDependency);
+        o.list(repositories, ModelCodec::writeRepository);
+        o.list(pluginRepositories, ModelCodec::writeRepository);
+        o.obj(reporting, (out, v) -> {
+            out.str(v.getExcludeDefaults());
+            out.str(v.getOutputDirectory());
+            out.list(v.getPlugins(), (o2, p) -> {
+                o2.str(p.getInherited());
+                o2.xml(p.getConfiguration());
+                o2.str(p.getGroupId());
+                o2.str(p.getArtifactId());
+                o2.str(p.getVersion());
+                o2.list(p.getReportSets(), (o3, s) -> {
+                    o3.str(s.getInherited());
+                    o3.xml(s.getConfiguration());
+                    o3.str(s.getId());
+                    o3.strs(s.getReports());
+                });
+            });
+        });
+    }
+
+    private static DistributionManagement readDistributionManagement(In i) throws IOException {
+        return DistributionManagement.newBuilder()
+                .repository(i.obj(in -> (DeploymentRepository) readRepository(in)))
+                .snapshotRepository(i.obj(in -> (DeploymentRepository) readRepository(in)))
+                .site(i.obj(in -> Site.newBuilder()
+                        .id(in.str())
+                        .name(in.str())
+                        .url(in.str())
+                        .childSiteUrlInheritAppendPath(in.str())
+                        .build()))
+                .downloadUrl(i.str())
+                .relocation(i.obj(in -> Relocation.newBuilder()
+                        .groupId(in.str())
+                        .artifactId(in.str())
+                        .version(in.str())
+                        .message(in.str())
+                        .build()))
+                .status(i.str())
+                .build();
+    }
+
+    private static Reporting readReporting(In i) throws IOException {
+        return Reporting.newBuilder()
+                .excludeDefaults(i.str())
+                .outputDirectory(i.str())
+                .plugins(i.list(in -> ReportPlugin.newBuilder()
+                        .inherited(in.str())
+                        .configuration(in.xml())
+                        .groupId(in.str())
+                        .artifactId(in.str())
+                        .version(in.str())
+                        .reportSets(in.list(i2 -> ReportSet.newBuilder()
+                                .inherited(i2.str())
+                                .configuration(i2.xml())
+                                .id(i2.str())
+                                .reports(i2.strs())
+                                .build()))
+                        .build()))
+                .build();
+    }
+
+    private static void writeParent(Out o, Parent p) throws IOException {
+        o.str(p.getGroupId());
+        o.str(p.getArtifactId());
+        o.str(p.getVersion());
+        o.str(p.getRelativePath());
+    }
+
+    private static Parent readParent(In i) throws IOException {
+        return Parent.newBuilder()
+                .groupId(i.str())
+                .artifactId(i.str())
+                .version(i.str())
+                .relativePath(i.str())
+                .build();
+    }
+
+    private static void writeContributor(Out o, Contributor c) throws IOException {
+        o.str(c.getName());
+        o.str(c.getEmail());
+        o.str(c.getUrl());
+        o.str(c.getOrganization());
+        o.str(c.getOrganizationUrl());
+        o.strs(c.getRoles());
+        o.str(c.getTimezone());
+        o.map(c.getProperties());
+    }
+
+    private static Contributor readContributor(In i) throws IOException {
+        return Contributor.newBuilder()
+                .name(i.str())
+                .email(i.str())
+                .url(i.str())
+                .organization(i.str())
+                .organizationUrl(i.str())
+                .roles(i.strs())
+                .timezone(i.str())
+                .properties(i.map())
+                .build();
+    }
+
+    private static void writeDependency(Out o, Dependency d) throws IOException {
+        o.str(d.getGroupId());
+        o.str(d.getArtifactId());
+        o.str(d.getVersion());
+        o.str(d.getType());
+        o.str(d.getClassifier());
+        o.str(d.getScope());
+        o.str(d.getSystemPath());
+        o.list(d.getExclusions(), (out, e) -> {
+            out.str(e.getGroupId());
+            out.str(e.getArtifactId());
+        });
+        o.str(d.getOptional());
+    }
+
+    private static Dependency readDependency(In i) throws IOException {
+        return Dependency.newBuilder()
+                .groupId(i.str())
+                .artifactId(i.str())
+                .version(i.str())
+                .type(i.str())
+                .classifier(i.str())
+                .scope(i.str())
+                .systemPath(i.str())
+                .exclusions(i.list(in -> Exclusion.newBuilder().groupId(in.str()).artifactId(in.str()).build()))
+                .optional(i.str())
+                .build();
+    }
+
+    private static void writeRepository(Out o, Repository r) throws IOException {
+        o.str(r.getId());
+        o.str(r.getName());
+        o.str(r.getUrl());
+        o.str(r.getLayout());
+        o.obj(r.getReleases(), ModelCodec::writeRepositoryPolicy);
+        o.obj(r.getSnapshots(), ModelCodec::writeRepositoryPolicy);
+        o.bool(r instanceof DeploymentRepository);
+        if (r instanceof DeploymentRepository d) {
+            o.bool(d.isUniqueVersion());
+        }
+    }
+
+    private static Repository readRepository(In i) throws IOException {
+        var id = i.str();
+        var name = i.str();
+        var url = i.str();
+        var layout = i.str();
+        var releases = i.obj(ModelCodec::readRepositoryPolicy);
+        var snapshots = i.obj(ModelCodec::readRepositoryPolicy);
+        if (i.bool()) {
+            return DeploymentRepository.newBuilder()
+                    .id(id)
+                    .name(name)
+                    .url(url)
+                    .layout(layout)
+                    .releases(releases)
+                    .snapshots(snapshots)
+                    .uniqueVersion(i.bool())
+                    .build();
+        }
+
+        return Repository.newBuilder()
+                .id(id)
+                .name(name)
+                .url(url)
+                .layout(layout)
+                .releases(releases)
+                .snapshots(snapshots)
+                .build();
+    }
+
+    private static void writeRepositoryPolicy(Out o, RepositoryPolicy p) throws IOException {
+        o.str(p.getEnabled());
+        o.str(p.getUpdatePolicy());
+        o.str(p.getChecksumPolicy());
+    }
+
+    private static RepositoryPolicy readRepositoryPolicy(In i) throws IOException {
+        return RepositoryPolicy.newBuilder()
+                .enabled(i.str())
+                .updatePolicy(i.str())
+                .checksumPolicy(i.str())
+                .build();
+    }
+
+    private static void writeActivation(Out o, Activation a) throws IOException {
+        o.bool(a.isActiveByDefault());
+        o.str(a.getJdk());
+        o.obj(a.getOs(), (out, v) -> {
+            out.str(v.getName());
+            out.str(v.getFamily());
+            out.str(v.getArch());
+            out.str(v.getVersion());
+        });
+        o.obj(a.getProperty(), (out, v) -> {
+            out.str(v.getName());
+            out.str(v.getValue());
+        });
+        o.obj(a.getFile(), (out, v) -> {
+            out.str(v.getMissing());
+            out.str(v.getExists());
+        });
+    }
+
+    private static Activation readActivation(In i) throws IOException {
+        return Activation.newBuilder()
+                .activeByDefault(i.bool())
+                .jdk(i.str())
+                .os(i.obj(in -> ActivationOS.newBuilder()
+                        .name(in.str())
+                        .family(in.str())
+                        .arch(in.str())
+                        .version(in.str())
+                        .build()))
+                .property(i.obj(in -> ActivationProperty.newBuilder().name(in.str()).value(in.str()).build()))
+                .file(i.obj(in -> ActivationFile.newBuilder().missing(in.str()).exists(in.str()).build()))
+                .build();
+    }
+
+    private static void writeBuildBase(Out o, BuildBase b) throws IOException {
+        o.list(b.getPlugins(), ModelCodec::writePlugin);
+        o.obj(b.getPluginManagement(), (out, v) -> out.list(v.getPlugins(), ModelCodec::writePlugin));
+        o.str(b.getDefaultGoal());
+        o.list(b.getResources(), ModelCodec::writeResource);
+        o.list(b.getTestResources(), ModelCodec::writeResource);
+        o.str(b.getDirectory());
+        o.str(b.getFinalName());
+        o.strs(b.getFilters());
+    }
+
+    private static BuildBase readBuildBase(In i) throws IOException {
+        return BuildBase.newBuilder()
+                .plugins(i.list(ModelCodec::readPlugin))
+                .pluginManagement(
+                        i.obj(in -> PluginManagement.newBuilder().plugins(in.list(ModelCodec::readPlugin)).build()))
+                .defaultGoal(i.str())
+                .resources(i.list(ModelCodec::readResource))
+                .testResources(i.list(ModelCodec::readResource))
+                .directory(i.str())
+                .finalName(i.str())
+                .filters(i.strs())
+                .build();
+    }
+
+    private static void writePlugin(Out o, Plugin p) throws IOException {
+        o.str(p.getInherited());
+        o.xml(p.getConfiguration());
+        o.str(p.getGroupId());
+        o.str(p.getArtifactId());
+        o.str(p.getVersion());
+        o.str(p.getExtensions());
+        o.list(p.getExecutions(), (out, e) -> {
+            out.str(e.getInherited());
+            out.xml(e.getConfiguration());
+            out.str(e.getId());
+            out.str(e.getPhase());
+            out.data.writeInt(e.getPriority());
+            out.strs(e.getGoals());
+        });
+        o.list(p.getDependencies(), ModelCodec::writeDependency);
+    }
+
+    private static Plugin readPlugin(In i) throws IOException {
+        return Plugin.newBuilder()
+                .inherited(i.str())
+                .configuration(i.xml())
+                .groupId(i.str())
+                .artifactId(i.str())
+                .version(i.str())
+                .extensions(i.str())
+                .executions(i.list(in -> PluginExecution.newBuilder()
+                        .inherited(in.str())
+                        .configuration(in.xml())
+                        .id(in.str())
+                        .phase(in.str())
+                        .priority(in.data.readInt())
+                        .goals(in.strs())
+                        .build()))
+                .dependencies(i.list(ModelCodec::readDependency))
+                .build();
+    }
+
+    private static void writeResource(Out o, Resource r) throws IOException {
+        o.strs(r.getIncludes());
+        o.strs(r.getExcludes());
+        o.str(r.getDirectory());
+        o.str(r.getTargetPath());
+        o.str(r.getFiltering());
+        o.str(r.getMergeId());
+    }
+
+    private static Resource readResource(In i) throws IOException {
+        return Resource.newBuilder()
+                .includes(i.strs())
+                .excludes(i.strs())
+                .directory(i.str())
+                .targetPath(i.str())
+                .filtering(i.str())
+                .mergeId(i.str())
+                .build();
+    }
+
+    // A configuration element. The XmlNode API has no factory of its own, and its implementation is internal to
+    // Maven. Merging follows the combine.self, combine.children, combine.id and combine.keys attributes like Maven's
+    // does, in case a decoded model is merged with another one.
+    private record Node(String name, String namespaceUri, String prefix, String value, Map<String, String> attributes,
+            List<XmlNode> children) implements XmlNode {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getNamespaceUri() {
+            return namespaceUri;
+        }
+
+        @Override
+        public String getPrefix() {
+            return prefix;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public List<XmlNode> getChildren() {
+            return children;
+        }
+
+        @Override
+        public XmlNode getChild(String name) {
+            return children.stream().filter(c -> c.getName().equals(name)).findFirst().orElse(null);
+        }
+
+        @Override
+        public Object getInputLocation() {
+            return null;
+        }
+
+        @Override
+        public XmlNode merge(XmlNode recessive, Boolean childMergeOverride) {
+            if (recessive == null || SELF_COMBINATION_OVERRIDE.equals(getAttribute(SELF_COMBINATION_MODE_ATTRIBUTE))) {
+                return this;
+            }
+
+            var mergedAttributes = new LinkedHashMap<>(attributes);
+            recessive.getAttributes().forEach((k, v) -> {
+                if (isEmpty(mergedAttributes.get(k))) {
+                    mergedAttributes.put(k, v);
+                }
+            });
+
+            var mergeChildren = childMergeOverride != null
+                    ? childMergeOverride
+                    : !CHILDREN_COMBINATION_APPEND.equals(getAttribute(CHILDREN_COMBINATION_MODE_ATTRIBUTE));
+            var mergedChildren = new ArrayList<XmlNode>();
+            if (mergeChildren) {
+                mergedChildren.addAll(children);
+                var unmatched = new ArrayList<XmlNode>();
+                var byName = new HashMap<String, Iterator<XmlNode>>();
+                for (var r : recessive.getChildren()) {
+                    var d = counterpart(r, byName);
+                    if (d == null) {
+                        if (getChild(r.getName()) == null || hasIdentity(r)) {
+                            unmatched.add(r);
+                        }
+                    } else if (SELF_COMBINATION_REMOVE.equals(d.getAttribute(SELF_COMBINATION_MODE_ATTRIBUTE))) {
+                        mergedChildren.remove(d);
+                    } else if (mergedChildren.contains(d)) {
+                        mergedChildren.set(mergedChildren.indexOf(d), d.merge(r, childMergeOverride));
+                    }
+                }
+                mergedChildren.addAll(unmatched);
+            } else {
+                mergedChildren.addAll(recessive.getChildren());
+                mergedChildren.addAll(children);
+            }
+
+            return new Node(name, namespaceUri, prefix, isEmpty(value) ? recessive.getValue() : value,
+                    mergedAttributes, mergedChildren);
+        }
+
+        // The dominant child that the recessive one merges into: the one with the same combine.id, or with the same
+        // values of the attributes in combine.keys, or else the next one with the same name.
+        private XmlNode counterpart(XmlNode recessiveChild, Map<String, Iterator<XmlNode>> byName) {
+            if (recessiveChild.getAttribute(ID_COMBINATION_MODE_ATTRIBUTE) instanceof String id && !id.isEmpty()) {
+                return children.stream().filter(c -> id.equals(c.getAttribute(ID_COMBINATION_MODE_ATTRIBUTE)))
+                        .findFirst().orElse(null);
+            }
+            if (recessiveChild.getAttribute(KEYS_COMBINATION_MODE_ATTRIBUTE) instanceof String keys
+                    && !keys.isEmpty()) {
+                var names = List.of(keys.split(","));
+                return children.stream()
+                        .filter(c -> names.stream()
+                                .allMatch(k -> Objects.equals(c.getAttribute(k), recessiveChild.getAttribute(k))))
+                        .findFirst().orElse(null);
+            }
+
+            var same = byName.computeIfAbsent(recessiveChild.getName(),
+                    n -> children.stream().filter(c -> c.getName().equals(n)).toList().iterator());
+            return same.hasNext() ? same.next() : null;
+        }
+
+        private static boolean hasIdentity(XmlNode node) {
+            return !isEmpty(node.getAttribute(ID_COMBINATION_MODE_ATTRIBUTE))
+                    || !isEmpty(node.getAttribute(KEYS_COMBINATION_MODE_ATTRIBUTE));
+        }
+
+        private static boolean isEmpty(String s) {
+            return s == null || s.isBlank();
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(Out out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(In in) throws IOException;
+    }
+
+    private static final class Out implements AutoCloseable {
+
+        final DataOutputStream data;
+        final Map<String, Integer> strings = new HashMap<>();
+
+        Out(DataOutputStream data) {
+            this.data = data;
+        }
+
+        // 0 is null, a known string is written as its index, and a new string as the next index followed by its
+        // value.
+        void str(String s) throws IOException {
+            if (s == null) {
+                size(0);
+                return;
+            }
+
+            var index = strings.get(s);
+            if (index != null) {
+                size(index);
+                return;
+            }
+
+            index = strings.size() + 1;
+            strings.put(s, index);
+            size(index);
+            var bytes = s.getBytes(StandardCharsets.UTF_8);
+            size(bytes.length);
+            data.write(bytes);
+        }
+
+        void bool(boolean b) throws IOException {
+            data.writeBoolean(b);
+        }
+
+        void size(int n) throws IOException {
+            while ((n & ~0x7f) != 0) {
+                data.writeByte((n & 0x7f) | 0x80);
+                n >>>= 7;
+            }
+            data.writeByte(n);
+        }
+
+        void strs(List<String> values) throws IOException {
+            list(values, Out::str);
+        }
+
+        void map(Map<String, String> values) throws IOException {
+            size(values.size());
+            for (var e : values.entrySet()) {
+                str(e.getKey());
+                str(e.getValue());
+            }
+        }
+
+        <T> void obj(T value, Writer<T> writer) throws IOException {
+            bool(value != null);
+            if (value != null) {
+                writer.write(this, value);
+            }
+        }
+
+        <T> void list(List<T> values, Writer<T> writer) throws IOException {
+            size(values.size());
+            for (var v : values) {
+                writer.write(this, v);
+            }
+        }
+
+        void xml(XmlNode node) throws IOException {
+            obj(node, (out, n) -> {
+                out.str(n.getName());
+                out.str(n.getValue());
+                out.str(n.getNamespaceUri());
+                out.str(n.getPrefix());
+                out.map(n.getAttributes());
+                out.size(n.getChildren().size());
+                for (var c : n.getChildren()) {
+                    out.xml(c);
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+        }
+
+    }
+
+    private static final class In {
+
+        final DataInputStream data;
+        final List<String> strings = new ArrayList<>();
+
+        In(DataInputStream data) {
+            this.data = data;
+        }
+
+        String str() throws IOException {
+            var index = size();
+            if (index == 0) {
+                return null;
+            }
+            if (index <= strings.size()) {
+                return strings.get(index - 1);
+            }
+
+            var s = new String(data.readNBytes(size()), StandardCharsets.UTF_8);
+            strings.add(s);
+            return s;
+        }
+
+        boolean bool() throws IOException {
+            return data.readBoolean();
+        }
+
+        int size() throws IOException {
+            var n = 0;
+            for (var shift = 0;; shift += 7) {
+                var b = data.readByte();
+                n |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return n;
+                }
+            }
+        }
+
+        List<String> strs() throws IOException {
+            return list(In::str);
+        }
+
+        Map<String, String> map() throws IOException {
+            var n = size();
+            var map = new LinkedHashMap<String, String>(n * 2);
+            for (var k = 0; k < n; k++) {
+                map.put(str(), str());
+            }
+            return map;
+        }
+
+        <T> T obj(Reader<T> reader) throws IOException {
+            return bool() ? reader.read(this) : null;
+        }
+
+        <T> List<T> list(Reader<T> reader) throws IOException {
+            var n = size();
+            var list = new ArrayList<T>(n);
+            for (var k = 0; k < n; k++) {
+                list.add(reader.read(this));
+            }
+            return list;
+        }
+
+        XmlNode xml() throws IOException {
+            return obj(in -> {
+                var name = in.str();
+                var value = in.str();
+                var namespaceUri = in.str();
+                var prefix = in.str();
+                var attributes = in.map();
+                var children = in.list(In::xml);
+                return new Node(name, namespaceUri, prefix, value, attributes, children);
+            });
+        }
+
+    }
+
+}
@@ -18,15 +18,12 @@ package com.github.andirady.pomcli;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.DefaultModelReader;
-import org.apache.maven.model.io.DefaultModelWriter;
 
 import picocli.CommandLine.Help.Ansi;
 
@@ -39,11 +36,8 @@ public abstract class ModifyingCommandBase implements Callable<Integer> {
 
         Objects.requireNonNull(pomPath, "pomPath is null");
 
-        var reader = new DefaultModelReader(null);
-        if (Files.exists(pomPath)) {
-            try (var is = Files.newInputStream(pomPath)) {
-                return reader.read(is, null);
-            }
+        if (PomSession.current().exists(pomPath)) {
+            return PomFiles.read(pomPath);
         } else if (!mustExists) {
             LOG.fine(() -> pomPath + " does not exists. Creating a new one");
             return new NewPom().newPom(pomPath, standalone);
@@ -58,10 +52,8 @@ public abstract class ModifyingCommandBase implements Callable<Integer> {
         }
 
         var pomPath = getPomPath();
-        var writer = new DefaultModelWriter();
-        try (var os = Files.newOutputStream(pomPath)) {
-            writer.write(os, null, model);
-            LOG.fine(() -> "Changes saved to " + pomPath);
+        try {
+            PomFiles.write(pomPath, model);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
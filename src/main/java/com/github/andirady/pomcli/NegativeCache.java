@@ -0,0 +1,119 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class NegativeCache {
+
+    private static final Logger LOG = Logger.getLogger("");
+
+    private static NegativeCache instance;
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    public NegativeCache(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public static synchronized NegativeCache getInstance() {
+        if (instance == null) {
+            var config = Config.getInstance();
+            instance = new NegativeCache(config.getCacheDirectory().resolve("negative"), config.getNegativeCacheTtl());
+        }
+
+        return instance;
+    }
+
+    public boolean isMissing(String repository, String coordinate) {
+        if (ttlMillis <= 0) {
+            return false;
+        }
+
+        var key = key(repository, coordinate);
+        var now = System.currentTimeMillis();
+        var expiry = expiries.get(key);
+        if (expiry != null) {
+            if (expiry > now) {
+                return true;
+            }
+            expiries.remove(key, expiry);
+        }
+
+        var file = directory.resolve(hash(key));
+        try {
+            var fileExpiry = Files.getLastModifiedTime(file).toMillis() + ttlMillis;
+            if (fileExpiry > now) {
+                expiries.put(key, fileExpiry);
+                LOG.fine(() -> coordinate + " is known to be missing from " + repository);
+                return true;
+            }
+
+            Files.deleteIfExists(file);
+        } catch (NoSuchFileException e) {
+            // Not cached.
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to read negative cache entry " + file);
+        }
+
+        return false;
+    }
+
+    public void markMissing(String repository, String coordinate) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+
+        var key = key(repository, coordinate);
+        expiries.put(key, System.currentTimeMillis() + ttlMillis);
+        var file = directory.resolve(hash(key));
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, key);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to write negative cache entry " + file);
+        }
+    }
+
+    private String key(String repository, String coordinate) {
+        return repository.replaceAll("/+$", "") + "|" + coordinate;
+    }
+
+    private String hash(String key) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
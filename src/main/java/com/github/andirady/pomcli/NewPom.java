@@ -81,7 +81,7 @@ public class NewPom {
             // Use UTF-8 for default encoding.
             props.setProperty("project.build.sourceEncoding", "UTF-8");
 
-            GetJavaMajorVersion.getInstance().get().ifPresent(majorVersion -> {
+            GetJavaMajorVersion.getInstance().get(pomPath.toAbsolutePath().getParent()).ifPresent(majorVersion -> {
                 if (Double.parseDouble(majorVersion) < 9) {
                     props.setProperty("maven.compiler.source", majorVersion);
                     props.setProperty("maven.compiler.target", majorVersion);
@@ -120,7 +120,7 @@ public class NewPom {
             var parentPomPath = parent.resolve("pom.xml");
             if (Files.exists(parentPomPath)) {
                 LOG.fine("Found pom.xml at " + parent);
-                try (var is = Files.newInputStream(parentPomPath)) {
+                try (var is = PomInput.open(parentPomPath)) {
                     var pom = pomReader.read(is, null);
                     if ("pom".equals(pom.getPackaging())) {
                         LOG.fine(() -> parentPomPath + " is choosen as parent");
@@ -49,6 +49,30 @@ public class ParentPomFinder {
     }
 
     Optional<Result> find(Path pomPath, Parent parent) {
+        return PomSession.current().parent(pomPath, parent, () -> read(pomPath, parent));
+    }
+
+    private Optional<Result> read(Path pomPath, Parent parent) {
+        var coordinate = parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion();
+        try (var _ = Timings.start(Timings.Phase.PARENT, coordinate)) {
+            var parentPomPath = findLocal(pomPath, parent).orElse(null);
+            // If the parent pom doesn't exists, tread the parent as remote parent.
+            if (parentPomPath == null) {
+                LOG.fine("Resolving the parent pom since the relative path does not exists");
+                var result = new Result(ResolutionProvider.getInstance().readModel(
+                        parent.getGroupId(),
+                        parent.getArtifactId(),
+                        parent.getVersion()), true);
+                return Optional.of(result);
+            }
+
+            return Optional.of(new Result(ModelCache.getInstance().read(parentPomPath, reader), false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<Path> findLocal(Path pomPath, Parent parent) {
         var filename = "pom.xml";
         var parentRelativePath = parent.getRelativePath();
         var parentPomPath = pomPath.toAbsolutePath().getParent().resolve(parentRelativePath);
@@ -57,20 +81,6 @@ public class ParentPomFinder {
         }
 
         LOG.fine("parentPomPath = " + parentPomPath);
-        // If the parent pom doesn't exists, tread the parent as remote parent.
-        if (!Files.exists(parentPomPath)) {
-            LOG.fine("Resolving the parent pom since the relative path does not exists");
-            var result = new Result(ResolutionProvider.getInstance().readModel(
-                    parent.getGroupId(),
-                    parent.getArtifactId(),
-                    parent.getVersion()), true);
-            return Optional.of(result);
-        }
-
-        try (var is = Files.newInputStream(parentPomPath)) {
-            return Optional.of(new Result(reader.read(is, null), false));
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        return Files.exists(parentPomPath) ? Optional.of(parentPomPath) : Optional.empty();
     }
 }
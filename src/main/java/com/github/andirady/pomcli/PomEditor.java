@@ -0,0 +1,386 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+
+// Applies the difference between two serialized models to the POM source as text splices, so comments and
+// formatting outside of the changed elements are left untouched.
+class PomEditor {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final List<String> IDENTITY_ELEMENTS = List.of("groupId", "artifactId", "classifier", "type", "id");
+    private static final String CANONICAL_INDENT = "  ";
+
+    record Node(String name, int start, int contentStart, int contentEnd, int end, boolean selfClosing,
+            List<Node> children) {
+    }
+
+    record Edit(int start, int end, String text) {
+    }
+
+    private static class NoCounterpartException extends RuntimeException {
+
+        NoCounterpartException(String message) {
+            super(message, null, false, false);
+        }
+
+    }
+
+    private final String source;
+    private final String before;
+    private final String after;
+    private final String lineSeparator;
+    private final String indentUnit;
+    private final List<Edit> edits = new ArrayList<>();
+
+    private PomEditor(String source, String before, String after, Node sourceRoot) {
+        this.source = source;
+        this.before = before;
+        this.after = after;
+        this.lineSeparator = source.contains("\r\n") ? "\r\n" : "\n";
+        this.indentUnit = sourceRoot.children().stream().filter(n -> isAtLineStart(n, source)).findFirst()
+                .map(n -> indentOf(n, source)).filter(s -> !s.isEmpty()).orElse(CANONICAL_INDENT);
+    }
+
+    // before and after must both be written by DefaultModelWriter.
+    static Optional<String> edit(String source, String before, String after) {
+        try {
+            var sourceRoot = parse(source);
+            var editor = new PomEditor(source, before, after, sourceRoot);
+            editor.diff(sourceRoot, parse(before), parse(after));
+            return editor.apply();
+        } catch (XMLStreamException | NoCounterpartException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to edit in place: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static Node parse(String text) throws XMLStreamException {
+        var factory = new WstxInputFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        var reader = factory.createXMLStreamReader(new StringReader(text));
+        try {
+            record Open(String name, int start, int contentStart, boolean selfClosing, List<Node> children) {
+            }
+
+            var stack = new ArrayDeque<Open>();
+            Node root = null;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        var start = reader.getLocation().getCharacterOffset();
+                        var contentStart = tagEnd(text, start);
+                        stack.push(new Open(reader.getLocalName(), start, contentStart,
+                                text.charAt(contentStart - 2) == '/', new ArrayList<>()));
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        var open = stack.pop();
+                        var contentEnd = open.selfClosing() ? open.contentStart()
+                                : reader.getLocation().getCharacterOffset();
+                        var end = open.selfClosing() ? open.contentStart() : tagEnd(text, contentEnd);
+                        var node = new Node(open.name(), open.start(), open.contentStart(), contentEnd, end,
+                                open.selfClosing(), List.copyOf(open.children()));
+                        if (stack.isEmpty()) {
+                            root = node;
+                        } else {
+                            stack.peek().children().add(node);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            return root;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static int tagEnd(String text, int start) {
+        char quote = 0;
+        for (var i = start + 1; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+
+        throw new IllegalStateException("Unterminated tag at " + start);
+    }
+
+    private void diff(Node s, Node b, Node a) {
+        if (raw(b, before).equals(raw(a, after))) {
+            return;
+        }
+
+        if (!startTag(b, before).equals(startTag(a, after))
+                || b.children().isEmpty() != a.children().isEmpty()
+                || s.children().isEmpty() != b.children().isEmpty()) {
+            replace(s, a);
+            return;
+        }
+
+        if (a.children().isEmpty()) {
+            if (s.selfClosing()) {
+                replace(s, a);
+            } else {
+                edits.add(new Edit(s.contentStart(), s.contentEnd(), content(a, after)));
+            }
+            return;
+        }
+
+        var unique = uniqueNames(b.children(), a.children());
+        var bKeys = b.children().stream().map(n -> key(n, before, unique)).toList();
+        var aKeys = a.children().stream().map(n -> key(n, after, unique)).toList();
+
+        var sByKey = new HashMap<String, Deque<Node>>();
+        for (var child : s.children()) {
+            sByKey.computeIfAbsent(key(child, source, unique), k -> new ArrayDeque<>()).add(child);
+        }
+
+        var counterparts = new Node[bKeys.size()];
+        for (var i = 0; i < bKeys.size(); i++) {
+            var candidates = sByKey.get(bKeys.get(i));
+            if (candidates == null || candidates.isEmpty()) {
+                throw new NoCounterpartException("No counterpart for " + bKeys.get(i) + " in <" + s.name() + ">");
+            }
+            counterparts[i] = candidates.poll();
+        }
+
+        var aToB = align(bKeys, aKeys);
+        var matched = new boolean[bKeys.size()];
+        for (var i : aToB) {
+            if (i >= 0) {
+                matched[i] = true;
+            }
+        }
+
+        for (var i = 0; i < counterparts.length; i++) {
+            if (!matched[i]) {
+                delete(counterparts[i]);
+            }
+        }
+
+        var childIndent = !s.children().isEmpty() && isAtLineStart(s.children().get(0), source)
+                ? indentOf(s.children().get(0), source)
+                : indentOf(s, source) + indentUnit;
+        var insertion = new StringBuilder();
+        var position = s.contentStart();
+        for (var j = 0; j < aToB.length; j++) {
+            var aChild = a.children().get(j);
+            if (aToB[j] < 0) {
+                insertion.append(lineSeparator).append(childIndent).append(reindent(aChild, childIndent));
+                continue;
+            }
+
+            if (!insertion.isEmpty()) {
+                edits.add(new Edit(position, position, insertion.toString()));
+                insertion.setLength(0);
+            }
+
+            var sChild = counterparts[aToB[j]];
+            diff(sChild, b.children().get(aToB[j]), aChild);
+            position = sChild.end();
+        }
+
+        if (!insertion.isEmpty()) {
+            edits.add(new Edit(position, position, insertion.toString()));
+        }
+    }
+
+    private Optional<String> apply() {
+        if (edits.isEmpty()) {
+            return Optional.of(source);
+        }
+
+        edits.sort(Comparator.comparingInt(Edit::start).thenComparingInt(Edit::end));
+        var sb = new StringBuilder(source.length());
+        var position = 0;
+        for (var edit : edits) {
+            if (edit.start() < position) {
+                LOG.fine(() -> "Overlapping edits at " + edit.start());
+                return Optional.empty();
+            }
+            sb.append(source, position, edit.start()).append(edit.text());
+            position = edit.end();
+        }
+
+        return Optional.of(sb.append(source, position, source.length()).toString());
+    }
+
+    private void replace(Node s, Node a) {
+        edits.add(new Edit(s.start(), s.end(), reindent(a, indentOf(s, source))));
+    }
+
+    private void delete(Node s) {
+        var start = s.start();
+        var newline = source.lastIndexOf('\n', start - 1);
+        if (newline >= 0 && source.substring(newline + 1, start).isBlank()) {
+            start = newline > 0 && source.charAt(newline - 1) == '\r' ? newline - 1 : newline;
+        }
+
+        edits.add(new Edit(start, s.end(), ""));
+    }
+
+    private String reindent(Node a, String indent) {
+        var baseIndent = indentOf(a, after).length();
+        var lines = raw(a, after).split("\r?\n", -1);
+        var sb = new StringBuilder(lines[0]);
+        for (var i = 1; i < lines.length; i++) {
+            var line = lines[i];
+            var leading = 0;
+            while (leading < line.length() && line.charAt(leading) == ' ') {
+                leading++;
+            }
+
+            sb.append(lineSeparator);
+            if (leading < baseIndent) {
+                sb.append(line);
+            } else {
+                var relative = leading - baseIndent;
+                sb.append(indent)
+                        .append(indentUnit.repeat(relative / CANONICAL_INDENT.length()))
+                        .append(" ".repeat(relative % CANONICAL_INDENT.length()))
+                        .append(line, leading, line.length());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private Set<String> uniqueNames(List<Node> b, List<Node> a) {
+        var names = new HashSet<String>();
+        var duplicates = new HashSet<String>();
+        for (var children : List.of(b, a)) {
+            var seen = new HashSet<String>();
+            for (var node : children) {
+                names.add(node.name());
+                if (!seen.add(node.name())) {
+                    duplicates.add(node.name());
+                }
+            }
+        }
+
+        names.removeAll(duplicates);
+        return names;
+    }
+
+    private String key(Node node, String text, Set<String> unique) {
+        if (unique.contains(node.name())) {
+            return node.name();
+        }
+
+        if (node.children().isEmpty()) {
+            return node.name() + "=" + content(node, text).strip();
+        }
+
+        var sb = new StringBuilder(node.name());
+        for (var name : IDENTITY_ELEMENTS) {
+            node.children().stream()
+                    .filter(c -> c.name().equals(name) && c.children().isEmpty())
+                    .map(c -> content(c, text).strip())
+                    .filter(v -> !("type".equals(name) && "jar".equals(v)))
+                    .findFirst()
+                    .ifPresent(v -> sb.append('|').append(name).append('=').append(v));
+        }
+
+        return sb.toString();
+    }
+
+    // Longest common subsequence of the keys; returns, for every element of after, the matching index in before
+    // or -1.
+    private int[] align(List<String> before, List<String> after) {
+        var n = before.size();
+        var m = after.size();
+        var lengths = new int[n + 1][m + 1];
+        for (var i = n - 1; i >= 0; i--) {
+            for (var j = m - 1; j >= 0; j--) {
+                lengths[i][j] = before.get(i).equals(after.get(j))
+                        ? lengths[i + 1][j + 1] + 1
+                        : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+
+        var result = new int[m];
+        Arrays.fill(result, -1);
+        for (int i = 0, j = 0; i < n && j < m;) {
+            if (before.get(i).equals(after.get(j))) {
+                result[j++] = i++;
+            } else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    private static String raw(Node node, String text) {
+        return text.substring(node.start(), node.end());
+    }
+
+    private static String startTag(Node node, String text) {
+        return text.substring(node.start(), node.contentStart());
+    }
+
+    private static String content(Node node, String text) {
+        return text.substring(node.contentStart(), node.contentEnd());
+    }
+
+    private static boolean isAtLineStart(Node node, String text) {
+        var lineStart = text.lastIndexOf('\n', node.start() - 1) + 1;
+        return text.substring(lineStart, node.start()).isBlank();
+    }
+
+    private static String indentOf(Node node, String text) {
+        var lineStart = text.lastIndexOf('\n', node.start() - 1) + 1;
+        var end = lineStart;
+        while (end < node.start() && (text.charAt(end) == ' ' || text.charAt(end) == '\t')) {
+            end++;
+        }
+
+        return text.substring(lineStart, end);
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+class PomExtractor {
+
+    private static final XMLInputFactory FACTORY;
+
+    static {
+        FACTORY = XMLInputFactory.newInstance();
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private PomExtractor() {
+    }
+
+    // Reads the text of the elements at the given slash separated paths, e.g. project/parent/version, and stops
+    // reading as soon as all of them are found.
+    static Map<String, String> extract(Path pomPath, Collection<String> paths) throws IOException {
+        return extract(pomPath, paths, Set.of());
+    }
+
+    // As above, but also stops at the first element at any of the stop paths, e.g. project/dependencies, for the
+    // paths that are usually before it, and may not be there at all.
+    static Map<String, String> extract(Path pomPath, Collection<String> paths, Collection<String> stopPaths)
+            throws IOException {
+        var remaining = new HashSet<>(paths);
+        var result = new HashMap<String, String>();
+        try (var is = PomInput.open(pomPath)) {
+            var reader = FACTORY.createXMLStreamReader(is);
+            try {
+                var path = new StringBuilder();
+                while (!remaining.isEmpty() && reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            if (!path.isEmpty()) {
+                                path.append('/');
+                            }
+                            path.append(reader.getLocalName());
+
+                            var current = path.toString();
+                            if (stopPaths.contains(current)) {
+                                remaining.clear();
+                            } else if (remaining.remove(current)) {
+                                // Consumes the END_ELEMENT too.
+                                result.put(current, reader.getElementText().trim());
+                                path.setLength(Math.max(path.lastIndexOf("/"), 0));
+                            }
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> path.setLength(Math.max(path.lastIndexOf("/"), 0));
+                        default -> {
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read " + pomPath + ": " + e.getMessage(), e);
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.DefaultModelReader;
+import org.apache.maven.model.io.DefaultModelWriter;
+
+public final class PomFiles {
+
+    private static final Logger LOG = Logger.getLogger("");
+
+    // The digest is of the bytes on disk, and is null until the snapshot is stored.
+    record Snapshot(String source, Charset charset, org.apache.maven.api.model.Model model, byte[] digest) {
+    }
+
+    private PomFiles() {
+    }
+
+    public static Model read(Path path) throws IOException {
+        return PomSession.current().read(path);
+    }
+
+    public static void write(Path path, Model model) throws IOException {
+        PomSession.current().write(path, model);
+    }
+
+    static Snapshot load(Path path) throws IOException {
+        try (var _ = Timings.start(Timings.Phase.PARSE, path.toString())) {
+            var bytes = Files.readAllBytes(path);
+            var charset = PomInput.charset(bytes);
+            var source = PomInput.decode(bytes, charset);
+            return new Snapshot(source, charset, parse(source).getDelegate(), digest(bytes));
+        }
+    }
+
+    // Renders the model, editing the previously read source in place when possible.
+    static Snapshot render(Path path, Snapshot previous, org.apache.maven.api.model.Model after) {
+        var afterText = serialize(after);
+        if (previous != null && Files.exists(path)) {
+            var edited = PomEditor.edit(previous.source(), serialize(previous.model()), afterText)
+                    .filter(text -> isEquivalent(text, afterText));
+            if (edited.isPresent()) {
+                return new Snapshot(edited.get(), previous.charset(), after, null);
+            }
+        }
+
+        LOG.fine(() -> "Rewriting " + path);
+        return new Snapshot(afterText, PomInput.charset(afterText), after, null);
+    }
+
+    static Snapshot store(Path path, Snapshot snapshot) throws IOException {
+        var bytes = snapshot.source().getBytes(snapshot.charset());
+        if (Files.isRegularFile(path) && Arrays.equals(bytes, Files.readAllBytes(path))) {
+            LOG.fine(() -> path + " is unchanged");
+        } else {
+            writeAtomically(path, bytes);
+        }
+        return new Snapshot(snapshot.source(), snapshot.charset(), snapshot.model(), digest(bytes));
+    }
+
+    // Returns the digest of the file, or null if it does not exist.
+    static byte[] digest(Path path) throws IOException {
+        return Files.exists(path) ? digest(Files.readAllBytes(path)) : null;
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Writes to a temporary sibling and renames it over the target, so readers never observe a partially written
+    // POM.
+    static void writeAtomically(Path path, byte[] bytes) throws IOException {
+        var target = Files.exists(path) ? path.toRealPath() : path.toAbsolutePath();
+        var temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                var buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            if (Files.getFileStore(temp).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.setPosixFilePermissions(temp, Files.exists(target)
+                        ? Files.getPosixFilePermissions(target)
+                        : PosixFilePermissions.fromString("rw-r--r--"));
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Flushes the rename to the disk, so a crash right after the write leaves the new POM rather than the old one.
+    // Not every platform can open a directory, Windows cannot, and the write is not failed for it.
+    private static void syncDirectory(Path directory) {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            LOG.fine(() -> "Unable to sync " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isEquivalent(String edited, String expected) {
+        try {
+            if (serialize(parse(edited).getDelegate()).equals(expected)) {
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.fine(() -> "Edited POM is not readable: " + e.getMessage());
+            return false;
+        }
+
+        LOG.fine("Edited POM does not match the model");
+        return false;
+    }
+
+    private static Model parse(String source) throws IOException {
+        // The reader does not expect a byte order mark in character input.
+        var text = source.startsWith("\uFEFF") ? source.substring(1) : source;
+        return new DefaultModelReader(null).read(new StringReader(text), null);
+    }
+
+    private static String serialize(org.apache.maven.api.model.Model model) {
+        var writer = new StringWriter();
+        try {
+            new DefaultModelWriter().write(writer, null, model);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+}
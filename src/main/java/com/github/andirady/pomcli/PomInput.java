@@ -0,0 +1,77 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+public final class PomInput {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final Pattern ENCODING_PATTERN = Pattern
+            .compile("^\\s*<\\?xml[^>]*\\sencoding\\s*=\\s*[\"']([A-Za-z0-9._:-]+)[\"']");
+    private static final int HEAD_SIZE = 200;
+
+    private PomInput() {
+    }
+
+    // An input stream over the POM, for parsers that detect the encoding themselves. The file is read in one go
+    // rather than mapped, as a mapping stays open until it is garbage collected, and on Windows the POM cannot be
+    // replaced while it is.
+    public static InputStream open(Path path) throws IOException {
+        return new ByteArrayInputStream(Files.readAllBytes(path));
+    }
+
+    // Detects the charset from the byte order mark, or the XML declaration, and defaults to UTF-8.
+    static Charset charset(byte[] bytes) {
+        var b0 = bytes.length > 0 ? bytes[0] & 0xff : -1;
+        var b1 = bytes.length > 1 ? bytes[1] & 0xff : -1;
+        if (b0 == 0xfe && b1 == 0xff || b0 == 0x00 && b1 == 0x3c) {
+            return StandardCharsets.UTF_16BE;
+        } else if (b0 == 0xff && b1 == 0xfe || b0 == 0x3c && b1 == 0x00) {
+            return StandardCharsets.UTF_16LE;
+        }
+
+        var text = new String(bytes, 0, Math.min(bytes.length, HEAD_SIZE), StandardCharsets.ISO_8859_1);
+        return charset(text.startsWith("\u00ef\u00bb\u00bf") ? text.substring(3) : text);
+    }
+
+    static Charset charset(String head) {
+        var m = ENCODING_PATTERN.matcher(head);
+        if (m.find()) {
+            try {
+                return Charset.forName(m.group(1));
+            } catch (IllegalArgumentException e) {
+                LOG.fine(() -> "Unsupported encoding " + m.group(1));
+            }
+        }
+
+        return StandardCharsets.UTF_8;
+    }
+
+    // Decodes the content as is, including the byte order mark, so that writing it back keeps the mark.
+    static String decode(byte[] bytes, Charset charset) {
+        return new String(bytes, charset);
+    }
+
+}
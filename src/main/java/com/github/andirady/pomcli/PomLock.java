@@ -0,0 +1,131 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+// An exclusive lock on a POM, shared by the threads of this process and by other pom processes. The lock is taken
+// on a sidecar file in the cache directory, so nothing is left next to the POM.
+final class PomLock implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+
+    private PomLock(ReentrantLock lock, FileChannel channel, FileLock fileLock) {
+        this.lock = lock;
+        this.channel = channel;
+        this.fileLock = fileLock;
+    }
+
+    static PomLock acquire(Path pomPath) throws IOException {
+        var key = pomPath.toAbsolutePath().normalize();
+        var lock = LOCKS.computeIfAbsent(key, k -> new ReentrantLock());
+        var deadline = System.nanoTime() + TIMEOUT.toNanos();
+        try {
+            if (!lock.tryLock(TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IOException("Timed out waiting for the lock on " + pomPath);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the lock on " + pomPath);
+        }
+
+        if (lock.getHoldCount() > 1) {
+            return new PomLock(lock, null, null);
+        }
+
+        FileChannel channel = null;
+        try {
+            var directory = Config.getInstance().getCacheDirectory().resolve("locks");
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(hash(key.toString()) + ".lock"), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            var fileLock = channel.tryLock();
+            if (fileLock == null) {
+                LOG.fine(() -> "Waiting for another process to release " + pomPath);
+            }
+            while (fileLock == null) {
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("Timed out waiting for another process to release " + pomPath);
+                }
+                Thread.sleep(50);
+                fileLock = channel.tryLock();
+            }
+
+            return new PomLock(lock, channel, fileLock);
+        } catch (InterruptedException e) {
+            release(lock, channel);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the lock on " + pomPath);
+        } catch (IOException | RuntimeException e) {
+            release(lock, channel);
+            throw e;
+        }
+    }
+
+    private static void release(ReentrantLock lock, FileChannel channel) throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null) {
+                fileLock.release();
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String hash(String key) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+
+// Holds the POMs read during one invocation. Within a session, every subcommand sees the same Model, and the
+// changes are only written when the session is committed, so a chain like `pom add a:b set x=y` reads and writes
+// pom.xml once, or not at all if any of the subcommands fails. Outside of a session, writes go straight to disk.
+// Reading takes no lock, so read-only commands and parent POMs never wait for another invocation. Committing locks
+// the POMs to be written until the session is closed, and checks that they are unchanged since they were read. If
+// one was changed, the commands are run again in a session that locks those POMs before reading them, see Main.
+public final class PomSession implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final ThreadLocal<PomSession> CURRENT = new ThreadLocal<>();
+    private static final PomSession AUTO_COMMIT = new PomSession(false, null);
+
+    private final boolean deferred;
+    private final PomSession previous;
+    private final Map<Path, PomFiles.Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Path, Model> models = new LinkedHashMap<>();
+    private final Map<Path, Model> modified = new LinkedHashMap<>();
+    private final Map<String, Optional<ParentPomFinder.Result>> parents = new LinkedHashMap<>();
+    private final Map<Path, PomLock> locks = new LinkedHashMap<>();
+
+    // Thrown by commit when a POM to be written was changed since it was read.
+    public static final class ChangedException extends IOException {
+
+        private final Set<Path> paths;
+
+        ChangedException(String message, Set<Path> paths) {
+            super(message);
+            this.paths = paths;
+        }
+
+        // The POMs the session was going to write.
+        public Set<Path> paths() {
+            return paths;
+        }
+
+    }
+
+    private PomSession(boolean deferred, PomSession previous) {
+        this.deferred = deferred;
+        this.previous = previous;
+    }
+
+    public static PomSession begin() {
+        var session = new PomSession(true, CURRENT.get());
+        CURRENT.set(session);
+        return session;
+    }
+
+    // Begins a session that holds the locks on the given POMs from the start, so they cannot change between being
+    // read and being written by another pom invocation.
+    public static PomSession begin(Set<Path> toWrite) throws IOException {
+        var session = begin();
+        try {
+            for (var path : toWrite.stream().map(PomSession::key).sorted().toList()) {
+                session.lock(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            session.close();
+            throw e;
+        }
+        return session;
+    }
+
+    public static PomSession current() {
+        var session = CURRENT.get();
+        return session == null ? AUTO_COMMIT : session;
+    }
+
+    public synchronized Model read(Path path) throws IOException {
+        var key = key(path);
+        var model = models.get(key);
+        if (model != null) {
+            return model;
+        }
+
+        var snapshot = PomFiles.load(path);
+        snapshots.put(key, snapshot);
+        model = new Model(snapshot.model());
+        if (deferred) {
+            models.put(key, model);
+        }
+
+        return model;
+    }
+
+    public synchronized void write(Path path, Model model) throws IOException {
+        var key = key(path);
+        if (deferred) {
+            models.put(key, model);
+            modified.put(key, model);
+            return;
+        }
+
+        try (var lock = isLockable(key) ? PomLock.acquire(key) : null) {
+            if (isChanged(key)) {
+                throw new ChangedException(key + " was changed by another program since it was read", Set.of(key));
+            }
+            try (var _ = Timings.start(Timings.Phase.WRITE, key.toString())) {
+                var snapshot = PomFiles.render(path, snapshots.get(key), model.getDelegate());
+                snapshots.put(key, PomFiles.store(path, snapshot));
+            }
+        }
+    }
+
+    public synchronized boolean exists(Path path) {
+        return models.containsKey(key(path)) || Files.exists(path);
+    }
+
+    // Runs the action with this as the current session of the calling thread, e.g. in a task that a command started
+    // on another thread. The methods of a session may be called from several threads at once.
+    <R> R run(Supplier<R> action) {
+        if (this == AUTO_COMMIT || CURRENT.get() == this) {
+            return action.get();
+        }
+
+        var outer = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    // Whether writes are held until the session is committed, rather than written right away.
+    boolean isDeferred() {
+        return deferred;
+    }
+
+    // Returns the model written to the path but not yet committed, if any.
+    public synchronized Optional<Model> pending(Path path) {
+        return Optional.ofNullable(modified.get(key(path)));
+    }
+
+    synchronized Optional<ParentPomFinder.Result> parent(Path pomPath, Parent parent,
+            Supplier<Optional<ParentPomFinder.Result>> finder) {
+        if (!deferred) {
+            return finder.get();
+        }
+
+        var key = key(pomPath).getParent() + "|" + parent.getRelativePath() + "|" + parent.getGroupId() + ":"
+                + parent.getArtifactId() + ":" + parent.getVersion();
+        var result = parents.get(key);
+        if (result == null) {
+            result = finder.get();
+            parents.put(key, result);
+        }
+
+        return result;
+    }
+
+    // Renders every modified POM before writing any of them, so a failure leaves all files untouched. The locks are
+    // taken in the order of the paths, so two sessions writing the same POMs cannot wait for each other.
+    public synchronized void commit() throws IOException {
+        for (var path : modified.keySet().stream().sorted().toList()) {
+            lock(path);
+        }
+        for (var path : modified.keySet()) {
+            if (isChanged(path)) {
+                throw new ChangedException(path + " was changed by another program since it was read",
+                        Set.copyOf(modified.keySet()));
+            }
+        }
+
+        try (var _ = Timings.start(Timings.Phase.WRITE, modified.keySet().toString())) {
+            var rendered = new LinkedHashMap<Path, PomFiles.Snapshot>();
+            for (var e : modified.entrySet()) {
+                rendered.put(e.getKey(),
+                        PomFiles.render(e.getKey(), snapshots.get(e.getKey()), e.getValue().getDelegate()));
+            }
+
+            for (var e : rendered.entrySet()) {
+                snapshots.put(e.getKey(), PomFiles.store(e.getKey(), e.getValue()));
+                LOG.fine(() -> "Changes saved to " + e.getKey());
+            }
+        }
+
+        modified.clear();
+    }
+
+    private void lock(Path key) throws IOException {
+        if (isLockable(key) && !locks.containsKey(key)) {
+            locks.put(key, PomLock.acquire(key));
+        }
+    }
+
+    // POMs inside jars are never written.
+    private boolean isLockable(Path key) {
+        return key.getFileSystem() == FileSystems.getDefault();
+    }
+
+    private boolean isChanged(Path key) throws IOException {
+        var snapshot = snapshots.get(key);
+        var expected = snapshot == null ? null : snapshot.digest();
+        return !Arrays.equals(expected, PomFiles.digest(key));
+    }
+
+    @Override
+    public void close() {
+        if (this == AUTO_COMMIT) {
+            return;
+        }
+
+        for (var e : locks.entrySet()) {
+            try {
+                e.getValue().close();
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, ex, () -> "Unable to release the lock on " + e.getKey());
+            }
+        }
+        locks.clear();
+
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+}
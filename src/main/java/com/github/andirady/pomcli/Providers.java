@@ -0,0 +1,73 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Providers {
+
+    private static final Map<Class<?>, Lazy<?>> PROVIDERS = new ConcurrentHashMap<>();
+
+    private Providers() {
+    }
+
+    // The first provider found for the type, created on first use, and shared for the life of the process.
+    public static <T> T get(Class<T> type) {
+        return type.cast(PROVIDERS.computeIfAbsent(type, Providers::find).get());
+    }
+
+    // The provider, if it has been created, without creating it.
+    public static <T> Optional<T> ifCreated(Class<T> type) {
+        return Optional.ofNullable(PROVIDERS.get(type)).map(lazy -> type.cast(lazy.instance));
+    }
+
+    // Only looks the provider up; instantiating it here could need another provider, and the map does not allow a
+    // recursive update.
+    private static <T> Lazy<T> find(Class<T> type) {
+        var provider = ServiceLoader.load(type).stream()
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No provider for " + type.getName()));
+        return new Lazy<>(provider);
+    }
+
+    private static final class Lazy<T> {
+
+        private final ServiceLoader.Provider<T> provider;
+        private volatile T instance;
+
+        Lazy(ServiceLoader.Provider<T> provider) {
+            this.provider = provider;
+        }
+
+        T get() {
+            var result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) {
+                        instance = result = provider.get();
+                    }
+                }
+            }
+
+            return result;
+        }
+    }
+}
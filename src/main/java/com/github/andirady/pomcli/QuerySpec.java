@@ -33,8 +33,9 @@ public record QuerySpec(String groupId, String artifactId, String version) {
 
 	public URI toURI() {
 		try {
-			return new URI("https", "search.maven.org", "/solrsearch/select", "q=" + toString() + "&start=0&rows=1",
-					null);
+			var base = Config.getInstance().getSearchUrl();
+			return new URI(base.getScheme(), base.getAuthority(), base.getPath(),
+					"q=" + toString() + "&start=0&rows=1", null);
 		} catch (URISyntaxException e) {
 			throw new IllegalArgumentException(e);
 		}
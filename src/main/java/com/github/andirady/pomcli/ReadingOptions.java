@@ -37,12 +37,12 @@ public class ReadingOptions {
 
     public Optional<Model> getPom() {
         var f = getPomFilePath();
-        if (Files.notExists(f)) {
+        if (!PomSession.current().exists(f)) {
             return Optional.empty();
         }
 
-        try (var is = Files.newInputStream(f)) {
-            return Optional.of(getPomReader().read(is, null));
+        try {
+            return Optional.of(PomFiles.read(f));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -17,19 +17,19 @@ package com.github.andirady.pomcli;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.logging.Logger;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.DefaultModelWriter;
 
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Help.Ansi;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
 
 @Command(name = "remove", aliases = "rm", description = "Remove a dependency")
 public class RemoveCommand extends ReadingOptions implements Runnable {
@@ -39,47 +39,45 @@ public class RemoveCommand extends ReadingOptions implements Runnable {
     @Parameters(arity = "1..*", paramLabel = "DEPENDENCY")
     List<Dependency> coords;
 
+    @Spec
+    CommandSpec spec;
+
     private Model model;
 
     @Override
     public void run() {
         model = getPom().orElseThrow(() -> new IllegalStateException(pomPath + " is not a file."));
 
-        var dependencies = coords.stream().map(this::findExisting).filter(Optional::isPresent)
-                .map(Optional::orElseThrow).toList();
-        coords.stream().filter(d -> findExisting(d).isEmpty())
-                .forEach(d -> ansiPrint("@|yellow,bold " + format(d) + "|@ @|yellow is not a dependency|@"));
+        var index = new DependencyIndex(model.getDependencies());
+        var dependencies = new ArrayList<Dependency>();
+        var missing = new ArrayList<Dependency>();
+        for (var c : coords) {
+            index.find(c.getGroupId(), c.getArtifactId()).ifPresentOrElse(dependencies::add, () -> missing.add(c));
+        }
+        missing.forEach(d -> ansiPrint("@|yellow,bold " + format(d) + "|@ @|yellow is not a dependency|@"));
 
         if (dependencies.isEmpty()) {
             LOG.fine("No dependencies removed");
             return;
         }
 
-        model.getDependencies().removeIf(dependencies::contains);
+        model.getDependencies().removeIf(new HashSet<>(dependencies)::contains);
         dependencies.forEach(d -> ansiPrint("@|bold " + format(d) + "|@ removed"));
 
-        var writer = new DefaultModelWriter();
-        try (var os = Files.newOutputStream(pomPath)) {
-            writer.write(os, Map.of(), model);
+        try {
+            PomFiles.write(getPomFilePath(), model);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    private Optional<Dependency> findExisting(Dependency dependency) {
-        return model.getDependencies().stream()
-                .filter(d -> d.getArtifactId().equals(dependency.getArtifactId()))
-                .filter(d -> dependency.getGroupId() instanceof String groupId ? groupId.equals(d.getGroupId()) : true)
-                .findFirst();
-    }
-
     private String format(Dependency dependency) {
         return (dependency.getGroupId() instanceof String g ? (g + ":") : "") + dependency.getArtifactId()
                 + (dependency.getVersion() instanceof String v ? (":" + v) : "");
     }
 
     private void ansiPrint(String message) {
-        System.out.println(Ansi.AUTO.string(message));
+        spec.commandLine().getOut().println(Ansi.AUTO.string(message));
     }
 
 }
@@ -15,23 +15,27 @@
  */
 package com.github.andirady.pomcli;
 
-import java.util.NoSuchElementException;
+import java.nio.file.Path;
 import java.util.Optional;
-import java.util.ServiceLoader;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
+import org.eclipse.aether.graph.DependencyNode;
 
 public interface ResolutionProvider {
 
     static ResolutionProvider getInstance() {
-        return ServiceLoader.load(ResolutionProvider.class)
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("No provider for " + ResolutionProvider.class.getName()));
+        return Providers.get(ResolutionProvider.class);
+    }
+
+    // Forgets what the invocations before resolved and may have changed since.
+    default void clearCache() {
     }
 
     Model readModel(String groupId, String artifactId, String version);
 
     Optional<Dependency> findByArtifactId(Model model, String groupId, String artifactId, String scope);
 
+    DependencyNode collectDependencies(Path pomPath, Model model, int maxDepth);
+
 }
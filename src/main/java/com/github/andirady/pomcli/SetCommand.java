@@ -15,11 +15,8 @@
  */
 package com.github.andirady.pomcli;
 
-import java.nio.file.Files;
 import java.util.List;
 
-import org.apache.maven.model.io.DefaultModelWriter;
-
 import picocli.CommandLine.Command;
 import picocli.CommandLine.ITypeConverter;
 import picocli.CommandLine.Parameters;
@@ -48,9 +45,8 @@ public class SetCommand extends ReadingOptions implements Runnable {
             props.setProperty(p.key(), p.value());
         }
 
-        var writer = new DefaultModelWriter();
-        try (var os = Files.newOutputStream(pomPath)) {
-            writer.write(os, null, pom);
+        try {
+            PomFiles.write(getPomFilePath(), pom);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,169 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Where a command spends its time. Each phase is also recorded as a JFR event, e.g. with
+// -XX:StartFlightRecording, and summed up for --timings.
+public final class Timings {
+
+    private static final Logger LOG = Logger.getLogger("");
+
+    public enum Phase {
+        PARSE("POM parse"),
+        PARENT("parent resolution"),
+        BOM("BOM lookups"),
+        METADATA("metadata HTTP"),
+        VERSION("version selection"),
+        WRITE("write");
+
+        private final String label;
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static volatile boolean enabled;
+    private static volatile long startup = -1;
+    private static volatile long origin = System.nanoTime();
+
+    private Timings() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Timings.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Timer start(Phase phase, String detail) {
+        return new Timer(phase, detail);
+    }
+
+    // The time from the start of the process until now, when the command line is about to be run. Only taken when
+    // asked for, with --timings or by a JFR recording, since asking the OS when the process started is not free.
+    static void recordStartup(boolean requested) {
+        if (!requested && !FlightRecorder.isInitialized()) {
+            return;
+        }
+
+        var start = ProcessHandle.current().info().startInstant();
+        if (start.isEmpty()) {
+            return;
+        }
+
+        startup = Math.max(0, Duration.between(start.get(), Instant.now()).toNanos());
+        var event = new StartupEvent();
+        event.elapsed = startup;
+        event.commit();
+    }
+
+    // Starts over for another command line, as the daemon runs many in one process.
+    static void reset() {
+        enabled = false;
+        origin = System.nanoTime();
+        for (var phase : Phase.values()) {
+            phase.nanos.reset();
+            phase.count.reset();
+        }
+    }
+
+    // Phases may overlap, e.g. when versions are looked up in parallel, so they can add up to more than the total.
+    static void print(PrintStream out) {
+        out.println("Timings:");
+        if (startup >= 0) {
+            out.println(line("startup", 1, startup));
+        }
+        for (var phase : Phase.values()) {
+            var count = phase.count.sum();
+            if (count > 0) {
+                out.println(line(phase.label, count, phase.nanos.sum()));
+            }
+        }
+        out.println(line("total", 1, Math.max(startup, 0) + System.nanoTime() - origin));
+    }
+
+    private static String line(String label, long count, long nanos) {
+        return String.format(Locale.ROOT, "  %-20s %5s %10.1f ms", label, count > 1 ? count + "x" : "", nanos / 1e6);
+    }
+
+    public static final class Timer implements AutoCloseable {
+
+        private final Phase phase;
+        private final PhaseEvent event;
+        private final long start = System.nanoTime();
+
+        private Timer(Phase phase, String detail) {
+            this.phase = phase;
+            this.event = new PhaseEvent();
+            event.phase = phase.label;
+            event.detail = detail;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            var elapsed = System.nanoTime() - start;
+            event.commit();
+            phase.nanos.add(elapsed);
+            phase.count.increment();
+            LOG.fine(() -> "%s of %s took %.1fms".formatted(phase.label, event.detail, elapsed / 1e6));
+        }
+    }
+
+    @Name("com.github.andirady.pomcli.Phase")
+    @Label("Phase")
+    @Category("pom-cli")
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Detail")
+        String detail;
+    }
+
+    @Name("com.github.andirady.pomcli.Startup")
+    @Label("Startup")
+    @Category("pom-cli")
+    @StackTrace(false)
+    static class StartupEvent extends Event {
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+// Outbound requests of a command line, written with --trace-file as a line of OTLP JSON, the same shape as the
+// OpenTelemetry file exporter, so the spans can be loaded without running a collector.
+public final class Trace {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final String SCOPE = "com.github.andirady.pomcli";
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_CLIENT = 3;
+    private static final int STATUS_CODE_ERROR = 2;
+    private static final Span NOOP = new Span(null, 0, false);
+
+    private static final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private static volatile Optional<Path> file;
+    private static volatile String traceId;
+    private static volatile long epoch;
+    private static volatile Span root;
+
+    static {
+        reset();
+    }
+
+    private Trace() {
+    }
+
+    public static boolean isEnabled() {
+        var f = file;
+        if (f == null) {
+            f = Config.getInstance().getTraceFile();
+            file = f;
+        }
+
+        return f.isPresent();
+    }
+
+    // A request to a remote repository, or the search service. The cache attribute tells whether it was actually sent.
+    public static Span client(String method, URI url, String repository) {
+        if (!isEnabled()) {
+            return NOOP;
+        }
+
+        var span = new Span(method, SPAN_KIND_CLIENT, true)
+                .attribute("http.request.method", method)
+                .attribute("url.full", url.toString())
+                .attribute("pomcli.repository", repository);
+        if (url.getHost() != null) {
+            span.attribute("server.address", url.getHost());
+        }
+        if (url.getPort() != -1) {
+            span.attribute("server.port", url.getPort());
+        }
+
+        return span;
+    }
+
+    // Starts over for another command line, as the daemon runs many in one process.
+    static void reset() {
+        file = null;
+        spans.clear();
+        traceId = randomId(16);
+        var now = Instant.now();
+        epoch = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        root = new Span("pom", SPAN_KIND_INTERNAL, true);
+    }
+
+    // Appends the trace of the command line to the file.
+    static void finish(List<String> args, int exitCode) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        var path = file.get();
+        var r = root;
+        r.attributes.put("process.command_args", List.copyOf(args));
+        r.attribute("process.exit.code", exitCode);
+        if (exitCode != 0) {
+            r.error = true;
+        }
+        r.end = System.nanoTime();
+        try {
+            var parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            append(path, ByteBuffer.wrap(toJson(r)));
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, e, () -> "Unable to write the trace to " + path + ": " + e.getMessage());
+        }
+    }
+
+    // The line is written under a lock on the file, held by one thread of the process at a time, so lines of
+    // concurrent invocations do not interleave however long they are.
+    private static synchronized void append(Path path, ByteBuffer line) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+                var _ = channel.lock()) {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        }
+    }
+
+    private static byte[] toJson(Span r) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var gen = JSON.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("resourceSpans");
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("resource");
+            writeAttributes(gen, Map.of("service.name", "pom-cli"));
+            gen.writeEndObject();
+            gen.writeArrayFieldStart("scopeSpans");
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("scope");
+            gen.writeStringField("name", SCOPE);
+            gen.writeEndObject();
+            gen.writeArrayFieldStart("spans");
+            writeSpan(gen, r, null, r);
+            for (var span : new ArrayList<>(spans)) {
+                writeSpan(gen, span, r.spanId, r);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    private static void writeSpan(JsonGenerator gen, Span span, String parentSpanId, Span r) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("traceId", traceId);
+        gen.writeStringField("spanId", span.spanId);
+        if (parentSpanId != null) {
+            gen.writeStringField("parentSpanId", parentSpanId);
+        }
+        gen.writeStringField("name", span.name);
+        gen.writeNumberField("kind", span.kind);
+        // The wall clock at the start plus the monotonic time since, so the spans line up.
+        gen.writeStringField("startTimeUnixNano", String.valueOf(epoch + span.start - r.start));
+        gen.writeStringField("endTimeUnixNano", String.valueOf(epoch + span.end - r.start));
+        Map<String, Object> attributes;
+        synchronized (span.attributes) {
+            attributes = new LinkedHashMap<>(span.attributes);
+        }
+        writeAttributes(gen, attributes);
+        gen.writeObjectFieldStart("status");
+        if (span.error) {
+            gen.writeNumberField("code", STATUS_CODE_ERROR);
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private static void writeAttributes(JsonGenerator gen, Map<String, Object> attributes) throws IOException {
+        gen.writeArrayFieldStart("attributes");
+        for (var attribute : attributes.entrySet()) {
+            gen.writeStartObject();
+            gen.writeStringField("key", attribute.getKey());
+            gen.writeFieldName("value");
+            writeValue(gen, attribute.getValue());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeValue(JsonGenerator gen, Object value) throws IOException {
+        gen.writeStartObject();
+        switch (value) {
+            // 64-bit integers are strings in the JSON encoding of OTLP.
+            case Long l -> gen.writeStringField("intValue", String.valueOf(l));
+            case List<?> values -> {
+                gen.writeObjectFieldStart("arrayValue");
+                gen.writeArrayFieldStart("values");
+                for (var v : values) {
+                    writeValue(gen, v);
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            default -> gen.writeStringField("stringValue", String.valueOf(value));
+        }
+        gen.writeEndObject();
+    }
+
+    private static String randomId(int length) {
+        var bytes = new byte[length];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    public static final class Span implements AutoCloseable {
+
+        private final String name;
+        private final int kind;
+        private final boolean recording;
+        private final String spanId = randomId(8);
+        // Transfers of the resolver start and end on different threads.
+        private final Map<String, Object> attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+        private final long start = System.nanoTime();
+        private volatile long end;
+        private volatile boolean error;
+
+        private Span(String name, int kind, boolean recording) {
+            this.name = name;
+            this.kind = kind;
+            this.recording = recording;
+        }
+
+        public Span attribute(String key, String value) {
+            if (recording && value != null) {
+                attributes.put(key, value);
+            }
+
+            return this;
+        }
+
+        public Span attribute(String key, long value) {
+            if (recording) {
+                attributes.put(key, value);
+            }
+
+            return this;
+        }
+
+        // hit when served from the local repository, negative when a recent 404 is remembered, otherwise miss.
+        public Span cache(String cache) {
+            return attribute("pomcli.cache", cache);
+        }
+
+        // Client errors are errors too, as seen from the client side.
+        public Span status(int statusCode) {
+            if (statusCode >= 400) {
+                error = recording;
+            }
+
+            return attribute("http.response.status_code", statusCode);
+        }
+
+        public Span error(Throwable e) {
+            error = recording;
+            return attribute("error.type", e.getClass().getName());
+        }
+
+        public boolean isRecording() {
+            return recording;
+        }
+
+        @Override
+        public void close() {
+            if (recording && end == 0) {
+                end = System.nanoTime();
+                spans.add(this);
+            }
+        }
+    }
+}
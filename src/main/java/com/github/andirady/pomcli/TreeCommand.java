@@ -0,0 +1,96 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.aether.graph.DependencyNode;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
+
+@Command(name = "tree", description = "Display the dependency tree")
+public class TreeCommand extends ReadingOptions implements Runnable {
+
+    @Option(names = { "--depth" }, defaultValue = "0", paramLabel = "DEPTH", description = "Maximum depth of the tree. 0 means no limit")
+    int depth;
+
+    @Option(names = { "-i",
+            "--include" }, split = ",", paramLabel = "[GROUP_ID:]ARTIFACT_ID", description = "Only show paths to the matching artifacts. Supports * as wildcard")
+    List<String> includes;
+
+    @Spec
+    CommandSpec spec;
+
+    private List<Pattern> patterns;
+    private final Map<DependencyNode, Boolean> matches = new IdentityHashMap<>();
+
+    @Override
+    public void run() {
+        var pom = getPom().orElseThrow(() -> new IllegalStateException(pomPath + " is not a file."));
+        var root = ResolutionProvider.getInstance().collectDependencies(getPomFilePath(), pom, depth);
+        patterns = includes == null ? List.of() : includes.stream().map(this::toPattern).toList();
+
+        var out = spec.commandLine().getOut();
+        var artifact = root.getArtifact();
+        out.println(artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion());
+        print(out, root.getChildren(), "");
+        out.flush();
+    }
+
+    private void print(PrintWriter out, List<DependencyNode> nodes, String indent) {
+        var visible = nodes.stream().filter(this::isVisible).toList();
+        for (var i = 0; i < visible.size(); i++) {
+            var node = visible.get(i);
+            var last = i == visible.size() - 1;
+            out.println(indent + (last ? "\\- " : "+- ") + DependencyGraph.format(node));
+            print(out, node.getChildren(), indent + (last ? "   " : "|  "));
+        }
+    }
+
+    private boolean isVisible(DependencyNode node) {
+        if (patterns.isEmpty()) {
+            return true;
+        }
+
+        var result = matches.get(node);
+        if (result == null) {
+            var artifact = node.getArtifact();
+            var id = artifact.getGroupId() + ":" + artifact.getArtifactId();
+            result = patterns.stream().anyMatch(p -> p.matcher(id).matches())
+                    || node.getChildren().stream().anyMatch(this::isVisible);
+            matches.put(node, result);
+        }
+
+        return result;
+    }
+
+    private Pattern toPattern(String include) {
+        var glob = include.indexOf(':') > 0 ? include : "*:" + include;
+        var regex = Arrays.stream(glob.split("\\*", -1)).map(Pattern::quote).collect(joining(".*"));
+        return Pattern.compile(regex);
+    }
+
+}
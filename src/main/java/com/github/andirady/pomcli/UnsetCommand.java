@@ -17,15 +17,11 @@ package com.github.andirady.pomcli;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.DefaultModelReader;
-import org.apache.maven.model.io.DefaultModelWriter;
 
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Model.CommandSpec;
@@ -51,10 +47,9 @@ public class UnsetCommand implements Runnable {
 
     @Override
     public void run() {
-        var pomReader = new DefaultModelReader(null);
         Model pom;
-        try (var is = Files.newInputStream(pomPath)) {
-            pom = pomReader.read(is, null);
+        try {
+            pom = PomFiles.read(pomPath);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -69,9 +64,8 @@ public class UnsetCommand implements Runnable {
 
         spec.commandLine().getOut().println("✅ Property `%s' unset, the value was `%s'".formatted(property, propertyValue));
 
-        var pomWriter = new DefaultModelWriter();
-        try (var out = Files.newOutputStream(pomPath)) {
-            pomWriter.write(out, Map.of(), pom);
+        try {
+            PomFiles.write(pomPath, pom);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+@Command(name = "why", description = "Explain why an artifact is a dependency of the project")
+public class WhyCommand extends ReadingOptions implements Runnable {
+
+    private static final int MAX_PATHS = 100;
+
+    @Parameters(arity = "1", paramLabel = "[GROUP_ID:]ARTIFACT_ID", description = "The artifact to explain")
+    String coordinate;
+
+    @Spec
+    CommandSpec spec;
+
+    @Override
+    public void run() {
+        var parts = coordinate.split(":");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Invalid coordinate: " + coordinate);
+        }
+
+        var groupId = parts.length == 2 ? parts[0] : null;
+        var artifactId = parts[parts.length - 1];
+        // One more than is shown, to tell whether there are more.
+        var paths = loadGraph().pathsTo(groupId, artifactId, MAX_PATHS + 1);
+        if (paths.isEmpty()) {
+            throw new IllegalStateException(coordinate + " is not a dependency of " + getPomFilePath());
+        }
+
+        var out = spec.commandLine().getOut();
+        for (var i = 0; i < Math.min(paths.size(), MAX_PATHS); i++) {
+            if (i > 0) {
+                out.println();
+            }
+
+            var path = paths.get(i);
+            out.println(path.get(0));
+            for (var j = 1; j < path.size(); j++) {
+                out.println("   ".repeat(j - 1) + "\\- " + path.get(j));
+            }
+        }
+        if (paths.size() > MAX_PATHS) {
+            out.println();
+            out.println("Only the first " + MAX_PATHS + " paths are shown.");
+        }
+        out.flush();
+    }
+
+    private DependencyGraph loadGraph() {
+        var pomFile = getPomFilePath();
+        var pom = getPom().orElseThrow(() -> new IllegalStateException(pomPath + " is not a file."));
+        try {
+            return GraphCache.getInstance().get(pomFile, pom,
+                    () -> DependencyGraph.of(ResolutionProvider.getInstance().collectDependencies(pomFile, pom, 0)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
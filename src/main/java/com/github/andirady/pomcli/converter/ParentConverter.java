@@ -25,6 +25,7 @@ import org.apache.maven.model.Parent;
 import org.apache.maven.model.io.DefaultModelReader;
 
 import com.github.andirady.pomcli.GetLatestVersion;
+import com.github.andirady.pomcli.PomInput;
 import com.github.andirady.pomcli.QuerySpec;
 
 import picocli.CommandLine.ITypeConverter;
@@ -40,7 +41,7 @@ public class ParentConverter implements ITypeConverter<Parent> {
                 path = Files.isDirectory(path) ? path.resolve("pom.xml") : path;
 
                 var pomReader = new DefaultModelReader(null);
-                try (var is = Files.newInputStream(path)) {
+                try (var is = PomInput.open(path)) {
                     var pom = pomReader.read(is, null);
                     if (!"pom".equals(pom.getPackaging())) {
                         throw new IllegalArgumentException("The specified parent is not using pom packaging");
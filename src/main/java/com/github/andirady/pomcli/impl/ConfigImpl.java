@@ -15,19 +15,181 @@
  */
 package com.github.andirady.pomcli.impl;
 
-import java.util.Objects;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
 
 import com.github.andirady.pomcli.Config;
 
 public class ConfigImpl implements Config {
 
+    private static final String CENTRAL = "https://repo.maven.apache.org/maven2/";
+    private static final String CENTRAL_SEARCH = "https://search.maven.org/solrsearch/select";
+    private static final Set<String> CHECKSUM_POLICIES = Set.of("fail", "warn", "ignore");
+
+    private Properties fileProperties;
+    private Path loadedFile;
+    private long loadedLastModified;
+
     @Override
     public String getDefaultGroupId() {
-        return Objects.requireNonNullElse(System.getenv("POM_CLI_DEFAULT_GROUP_ID"), "unnamed");
+        return get("default.group.id", "unnamed");
     }
 
     @Override
     public String getDefaultVersion() {
-        return Objects.requireNonNullElse(System.getenv("POM_CLI_DEFAULT_VERSION"), "0.0.1-SNAPSHOT");
+        return get("default.version", "0.0.1-SNAPSHOT");
+    }
+
+    @Override
+    public Path getCacheDirectory() {
+        if (get("cache.dir", null) instanceof String dir) {
+            return Path.of(dir);
+        }
+
+        return System.getenv("XDG_CACHE_HOME") instanceof String xdgCacheHome
+                ? Path.of(xdgCacheHome, "pom-cli")
+                : Path.of(System.getProperty("user.home"), ".cache", "pom-cli");
+    }
+
+    @Override
+    public Duration getNegativeCacheTtl() {
+        return Duration.ofSeconds(getLong("negative.cache.ttl", 600, 0));
+    }
+
+    @Override
+    public long getModelCacheSize() {
+        return getLong("model.cache.size", 64L * 1024 * 1024, 0);
+    }
+
+    @Override
+    public long getGraphCacheSize() {
+        return getLong("graph.cache.size", 16L * 1024 * 1024, 0);
+    }
+
+    @Override
+    public URI getRepositoryUrl() {
+        var url = get("repository.url", CENTRAL);
+        return URI.create(url.endsWith("/") ? url : url + "/");
+    }
+
+    @Override
+    public URI getSearchUrl() {
+        return URI.create(get("search.url", CENTRAL_SEARCH));
+    }
+
+    @Override
+    public int getResolverThreads() {
+        return (int) Math.min(getLong("resolver.threads", 5, 1), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Duration getLookupTimeout() {
+        return Duration.ofSeconds(getLong("lookup.timeout", 120, 0));
+    }
+
+    @Override
+    public Optional<String> getChecksumPolicy() {
+        var policy = get("checksum.policy", null);
+        if (policy != null && !CHECKSUM_POLICIES.contains(policy)) {
+            throw new IllegalArgumentException(
+                    "Invalid checksum policy: " + policy + ". Valid values are fail, warn or ignore");
+        }
+
+        return Optional.ofNullable(policy);
+    }
+
+    @Override
+    public Optional<String> getUpdatePolicy() {
+        var policy = get("update.policy", null);
+        if (policy != null && !policy.matches("always|daily|never|interval:\\d+")) {
+            throw new IllegalArgumentException("Invalid update policy: " + policy
+                    + ". Valid values are always, daily, never or interval:MINUTES");
+        }
+
+        return Optional.ofNullable(policy);
+    }
+
+    @Override
+    public Optional<Path> getTraceFile() {
+        return Optional.ofNullable(get("trace.file", null)).map(Path::of);
+    }
+
+    private long getLong(String name, long defaultValue, long minimum) {
+        var value = get(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            var number = Long.parseLong(value.strip());
+            if (number >= minimum) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+
+        throw new IllegalArgumentException(name + " must be a whole number of at least " + minimum + ": " + value);
+    }
+
+    // System property pomcli.<name>, then environment variable POM_CLI_<NAME>, then the config file.
+    private String get(String name, String defaultValue) {
+        if (System.getProperty("pomcli." + name) instanceof String value) {
+            return value;
+        }
+
+        var envName = "POM_CLI_" + name.replace('.', '_').toUpperCase(Locale.ROOT);
+        if (System.getenv(envName) instanceof String value) {
+            return value;
+        }
+
+        return getFileProperties().getProperty(name, defaultValue);
+    }
+
+    // The instance lives as long as the process, e.g. in the daemon, so the file is read again when it changes, or when
+    // it is another file.
+    private synchronized Properties getFileProperties() {
+        var file = getConfigFile();
+        var lastModified = lastModified(file);
+        if (fileProperties == null || !file.equals(loadedFile) || lastModified != loadedLastModified) {
+            fileProperties = new Properties();
+            if (Files.isRegularFile(file)) {
+                try (var reader = Files.newBufferedReader(file)) {
+                    fileProperties.load(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            loadedFile = file;
+            loadedLastModified = lastModified;
+        }
+
+        return fileProperties;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private Path getConfigFile() {
+        if (System.getenv("POM_CLI_CONFIG") instanceof String file) {
+            return Path.of(file);
+        }
+
+        return System.getenv("XDG_CONFIG_HOME") instanceof String xdgConfigHome
+                ? Path.of(xdgConfigHome, "pom-cli", "config.properties")
+                : Path.of(System.getProperty("user.home"), ".config", "pom-cli", "config.properties");
     }
 }
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+
+record DepthLimitingSelector(DependencySelector delegate, int depth, int maxDepth) implements DependencySelector {
+
+    @Override
+    public boolean selectDependency(Dependency dependency) {
+        return (maxDepth <= 0 || depth <= maxDepth) && delegate.selectDependency(dependency);
+    }
+
+    @Override
+    public DependencySelector deriveChildSelector(DependencyCollectionContext context) {
+        return new DepthLimitingSelector(delegate.deriveChildSelector(context), depth + 1, maxDepth);
+    }
+
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.andirady.pomcli.HttpClients;
+import com.github.andirady.pomcli.NegativeCache;
+import com.github.andirady.pomcli.Trace;
+
+class DirectPomFetcher {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final String TRACKING_FILENAME = "_remote.repositories";
+
+    private final Path localRepository;
+    private final String repositoryId;
+    private final URI repositoryUrl;
+    private final HttpClient client;
+    private final NegativeCache negativeCache;
+    private final boolean verifyChecksum;
+
+    DirectPomFetcher(Path localRepository, String repositoryId, URI repositoryUrl, HttpClient client,
+            NegativeCache negativeCache, boolean verifyChecksum) {
+        this.localRepository = localRepository;
+        this.repositoryId = repositoryId;
+        this.repositoryUrl = repositoryUrl;
+        this.client = client;
+        this.negativeCache = negativeCache;
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    Optional<Path> fetch(String groupId, String artifactId, String version) {
+        if (!isSimpleVersion(version)) {
+            return Optional.empty();
+        }
+
+        var filename = artifactId + "-" + version + ".pom";
+        var relativePath = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + filename;
+        var pomPath = localRepository.resolve(relativePath);
+        var repository = repositoryUrl.toString();
+        var uri = URI.create(repository.replaceAll("/+$", "") + "/" + relativePath);
+        if (Files.isRegularFile(pomPath) && isAvailable(pomPath)) {
+            LOG.fine(() -> "Found " + pomPath + " in the local repository");
+            Trace.client("GET", uri, repository).cache("hit").close();
+            return Optional.of(pomPath);
+        }
+
+        var coordinate = groupId + ":" + artifactId + ":pom:" + version;
+        if (negativeCache.isMissing(repository, coordinate)) {
+            Trace.client("GET", uri, repository).cache("negative").close();
+            return Optional.empty();
+        }
+
+        try {
+            var pomResponse = send(uri);
+            if (pomResponse.statusCode() != 200) {
+                LOG.fine(() -> "Status code from " + uri + " is not 200: " + pomResponse.statusCode());
+                if (pomResponse.statusCode() == 404) {
+                    negativeCache.markMissing(repository, coordinate);
+                }
+                return Optional.empty();
+            }
+
+            if (verifyChecksum && !verify(uri, pomResponse.body())) {
+                return Optional.empty();
+            }
+
+            install(pomPath, pomResponse.body());
+            return Optional.of(pomPath);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to fetch " + coordinate);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private boolean verify(URI uri, byte[] content) throws IOException, InterruptedException {
+        var checksumUri = URI.create(uri + ".sha1");
+        var checksumResponse = send(checksumUri);
+        if (checksumResponse.statusCode() != 200) {
+            LOG.fine(() -> "No checksum for " + uri);
+            return false;
+        }
+
+        var expected = new String(checksumResponse.body(), StandardCharsets.US_ASCII).trim().split("\\s+")[0].toLowerCase(Locale.ROOT);
+        var actual = sha1(content);
+        if (!expected.equals(actual)) {
+            LOG.fine(() -> "Checksum mismatch for " + uri + ": expected " + expected + " but was " + actual);
+            return false;
+        }
+
+        return true;
+    }
+
+    private HttpResponse<byte[]> send(URI uri) throws IOException, InterruptedException {
+        try (var _ = HttpClients.acquire(uri);
+                var span = Trace.client("GET", uri, repositoryUrl.toString()).cache("miss")) {
+            try {
+                var response = client.send(HttpRequest.newBuilder(uri).GET().build(), BodyHandlers.ofByteArray());
+                span.status(response.statusCode());
+                span.attribute("http.response.body.size", response.body().length);
+                return response;
+            } catch (IOException e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    private boolean isSimpleVersion(String version) {
+        return version != null && !version.isEmpty() && !version.endsWith("-SNAPSHOT")
+                && !version.matches(".*[\\[\\](),$].*");
+    }
+
+    private void install(Path pomPath, byte[] content) throws IOException {
+        var directory = pomPath.getParent();
+        Files.createDirectories(directory);
+        var temp = Files.createTempFile(directory, pomPath.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, pomPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        // Record the origin the same way the resolver's enhanced local repository manager does, so it
+        // keeps treating the file as available from this repository.
+        track(directory.resolve(TRACKING_FILENAME), pomPath.getFileName() + ">" + repositoryId);
+        LOG.fine(() -> "Installed " + pomPath);
+    }
+
+    // Like the resolver's enhanced local repository manager, a file is only used if it was installed locally, came
+    // from this repository, or is not tracked at all. A file that came from another repository may not be available
+    // from this one.
+    private boolean isAvailable(Path pomPath) {
+        var trackingFile = pomPath.resolveSibling(TRACKING_FILENAME);
+        var tracking = new Properties();
+        try (var in = Files.newInputStream(trackingFile)) {
+            tracking.load(in);
+        } catch (NoSuchFileException e) {
+            return true;
+        } catch (IOException e) {
+            LOG.log(Level.FINE, e, () -> "Unable to read " + trackingFile);
+            return false;
+        }
+
+        var prefix = pomPath.getFileName() + ">";
+        return tracking.containsKey(prefix) || tracking.containsKey(prefix + repositoryId)
+                || tracking.stringPropertyNames().stream().noneMatch(k -> k.startsWith(prefix));
+    }
+
+    // Like the resolver, updates the file in place under a lock, so concurrent updates, from other processes or from
+    // the resolver, don't lose each other's entries. The lock is held by the process, so the threads of this one take
+    // turns.
+    private static synchronized void track(Path trackingFile, String key) throws IOException {
+        try (var channel = FileChannel.open(trackingFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+                var _ = channel.lock()) {
+            var tracking = new Properties();
+            if (channel.size() > 0) {
+                tracking.load(Channels.newInputStream(channel));
+            }
+            tracking.setProperty(key, "");
+
+            var out = new ByteArrayOutputStream();
+            tracking.store(out, "NOTE: This is a Maven Resolver internal implementation file, its format can be changed without prior notice.");
+            var buffer = ByteBuffer.wrap(out.toByteArray());
+            channel.position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.truncate(channel.position());
+        }
+    }
+
+    private String sha1(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -16,17 +16,188 @@
 package com.github.andirady.pomcli.impl;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
 
 import com.github.andirady.pomcli.GetJavaMajorVersion;
+import com.github.andirady.pomcli.PomInput;
 
 public class GetJavaMajorVersionImpl implements GetJavaMajorVersion {
 
+    private static final Logger LOG = Logger.getLogger("");
+    private static final Pattern MAJOR_VERSION = Pattern.compile("^(?:[a-z][\\w.]*-)?(1\\.\\d+|\\d+)",
+            Pattern.CASE_INSENSITIVE);
+
+    // What the environment says does not change while the process runs; the daemon refuses other environments.
+    private Optional<String> installed;
+
+    // Looks in the project first, then at the installed JDKs, and only runs java -version when nothing else tells.
+    @Override
+    public Optional<String> get(Path projectDir) {
+        return fromProject(projectDir).or(this::fromInstalled);
+    }
+
     @Override
     public BufferedReader getBufferedReader() throws IOException {
         var p = new ProcessBuilder("java", "-version").redirectErrorStream(true).start();
         var is = p.getInputStream();
         return new BufferedReader(new InputStreamReader(is));
     }
+
+    static Optional<String> majorVersion(String version) {
+        var m = MAJOR_VERSION.matcher(version.strip());
+        return m.find() ? Optional.of(m.group(1)) : Optional.empty();
+    }
+
+    // .java-version as used by jenv and others, or the java entry of .sdkmanrc, in the directory or one above it. The
+    // one above is not part of the project when the directory is the root of a git repository.
+    static Optional<String> fromProject(Path projectDir) {
+        var start = projectDir.toAbsolutePath();
+        var last = Files.exists(start.resolve(".git")) ? start : start.getParent();
+        for (var dir = start; dir != null; dir = dir.equals(last) ? null : dir.getParent()) {
+            var javaVersion = dir.resolve(".java-version");
+            if (Files.isRegularFile(javaVersion)) {
+                try (var lines = Files.lines(javaVersion)) {
+                    return lines.filter(line -> !line.isBlank()).findFirst()
+                            .flatMap(GetJavaMajorVersionImpl::majorVersion);
+                } catch (IOException e) {
+                    return Optional.empty();
+                }
+            }
+
+            var sdkmanrc = dir.resolve(".sdkmanrc");
+            if (Files.isRegularFile(sdkmanrc)) {
+                var java = read(sdkmanrc).map(p -> p.getProperty("java"));
+                if (java.isPresent()) {
+                    return java.flatMap(GetJavaMajorVersionImpl::majorVersion);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private synchronized Optional<String> fromInstalled() {
+        if (installed == null) {
+            installed = fromRelease(System.getenv("JAVA_HOME"))
+                    .or(() -> fromRelease(javaHomeOnPath()))
+                    .or(GetJavaMajorVersionImpl::fromToolchains)
+                    .or(GetJavaMajorVersionImpl::fromRuntime)
+                    .or(() -> {
+                        LOG.fine("Running java -version");
+                        return get();
+                    });
+        }
+
+        return installed;
+    }
+
+    private static Optional<String> fromRelease(String javaHome) {
+        if (javaHome == null) {
+            return Optional.empty();
+        }
+
+        return read(Path.of(javaHome, "release"))
+                .map(p -> p.getProperty("JAVA_VERSION"))
+                .map(v -> v.replace("\"", ""))
+                .flatMap(GetJavaMajorVersionImpl::majorVersion);
+    }
+
+    // The JDK of the java on the PATH, which is the one java -version would report.
+    private static String javaHomeOnPath() {
+        var path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+
+        var executable = File.separatorChar == '\\' ? "java.exe" : "java";
+        return Stream.of(path.split(File.pathSeparator))
+                .filter(dir -> !dir.isEmpty())
+                .map(dir -> Path.of(dir, executable))
+                .filter(Files::isExecutable)
+                .findFirst()
+                .flatMap(java -> {
+                    try {
+                        return Optional.ofNullable(java.toRealPath().getParent().getParent());
+                    } catch (IOException e) {
+                        return Optional.empty();
+                    }
+                })
+                .map(Path::toString)
+                .orElse(null);
+    }
+
+    // The newest JDK in the Maven toolchains.
+    private static Optional<String> fromToolchains() {
+        var file = Path.of(System.getProperty("user.home"), ".m2", "toolchains.xml");
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        var factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (var in = PomInput.open(file)) {
+            var reader = factory.createXMLStreamReader(in);
+            String type = null;
+            String version = null;
+            String newest = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                switch (reader.getLocalName()) {
+                    case "toolchain" -> type = version = null;
+                    case "type" -> type = reader.getElementText().strip();
+                    case "version" -> version = reader.getElementText().strip();
+                    default -> {
+                        continue;
+                    }
+                }
+
+                if ("jdk".equals(type) && version != null) {
+                    var major = majorVersion(version).orElse(null);
+                    if (major != null && (newest == null || Double.parseDouble(major) > Double.parseDouble(newest))) {
+                        newest = major;
+                    }
+                }
+            }
+            return Optional.ofNullable(newest);
+        } catch (IOException | XMLStreamException e) {
+            LOG.fine(() -> "Unable to read " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // A native image reports the JDK it was built with, not one the user has.
+    private static Optional<String> fromRuntime() {
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") != null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(String.valueOf(Runtime.version().feature()));
+    }
+
+    private static Optional<Properties> read(Path file) {
+        var properties = new Properties();
+        try (var reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+            return Optional.of(properties);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
 }
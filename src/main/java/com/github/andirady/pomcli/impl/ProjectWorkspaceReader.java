@@ -0,0 +1,130 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.DefaultModelReader;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+
+import com.github.andirady.pomcli.ParentPomFinder;
+import com.github.andirady.pomcli.PomInput;
+
+class ProjectWorkspaceReader implements WorkspaceReader {
+
+    private static final Logger LOG = Logger.getLogger("");
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private static final int MAX_PARENTS = 10;
+
+    private final WorkspaceRepository repository = new WorkspaceRepository("pom-cli");
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Artifact projectArtifact;
+
+    record Entry(String version, File file) {
+    }
+
+    ProjectWorkspaceReader(Path pomPath, Model model) {
+        projectArtifact = add(pomPath, model);
+
+        var finder = new ParentPomFinder(new DefaultModelReader(null));
+        var reader = new DefaultModelReader(null);
+        var path = pomPath;
+        var current = model;
+        for (var i = 0; i < MAX_PARENTS && current.getParent() instanceof Parent parent; i++) {
+            var parentPath = finder.findLocal(path, parent).orElse(null);
+            if (parentPath == null) {
+                break;
+            }
+
+            try (var is = PomInput.open(parentPath)) {
+                current = reader.read(is, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (!parent.getArtifactId().equals(current.getArtifactId())) {
+                LOG.fine(() -> parentPath + " is not the parent of " + pomPath);
+                break;
+            }
+
+            add(parentPath, current);
+            path = parentPath;
+        }
+    }
+
+    Artifact getProjectArtifact() {
+        return projectArtifact;
+    }
+
+    private Artifact add(Path pomPath, Model model) {
+        var parent = model.getParent();
+        var groupId = model.getGroupId() == null && parent != null ? parent.getGroupId() : model.getGroupId();
+        var version = model.getVersion() == null && parent != null ? parent.getVersion() : model.getVersion();
+        version = interpolate(version, model);
+
+        entries.put(groupId + ":" + model.getArtifactId(),
+                new Entry(version, pomPath.toAbsolutePath().toFile()));
+        return new DefaultArtifact(groupId, model.getArtifactId(), "pom", version);
+    }
+
+    private String interpolate(String value, Model model) {
+        if (value == null) {
+            return null;
+        }
+
+        return PLACEHOLDER_PATTERN.matcher(value).replaceAll(m -> {
+            var propValue = model.getProperties().getProperty(m.group(1));
+            return Matcher.quoteReplacement(propValue == null ? m.group() : propValue);
+        });
+    }
+
+    @Override
+    public WorkspaceRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public File findArtifact(Artifact artifact) {
+        if (!"pom".equals(artifact.getExtension())) {
+            return null;
+        }
+
+        var entry = entries.get(artifact.getGroupId() + ":" + artifact.getArtifactId());
+        return entry == null ? null : entry.file();
+    }
+
+    @Override
+    public List<String> findVersions(Artifact artifact) {
+        var entry = entries.get(artifact.getGroupId() + ":" + artifact.getArtifactId());
+        return entry == null ? List.of() : List.of(entry.version());
+    }
+
+}
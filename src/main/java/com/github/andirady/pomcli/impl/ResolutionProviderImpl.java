@@ -18,14 +18,10 @@ package com.github.andirady.pomcli.impl;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -36,59 +32,106 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.DefaultModelReader;
 import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession.SessionBuilder;
+import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.supplier.RepositorySystemSupplier;
 import org.eclipse.aether.supplier.SessionBuilderSupplier;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.util.graph.selector.AndDependencySelector;
+import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
+import org.eclipse.aether.util.graph.selector.OptionalDependencySelector;
+import org.eclipse.aether.util.graph.selector.ScopeDependencySelector;
 import org.eclipse.aether.util.listener.ChainedRepositoryListener;
 
+import com.github.andirady.pomcli.Config;
+import com.github.andirady.pomcli.HttpClients;
+import com.github.andirady.pomcli.ModelCache;
+import com.github.andirady.pomcli.NegativeCache;
+import com.github.andirady.pomcli.Providers;
 import com.github.andirady.pomcli.ResolutionProvider;
+import com.github.andirady.pomcli.Trace;
 
 public class ResolutionProviderImpl implements ResolutionProvider {
 
     private static final Logger LOG = Logger.getLogger("");
+    private static final String CENTRAL_URL = "https://repo.maven.apache.org/maven2/";
+    private static final String DEPENDENCY_COLLECTOR_IMPL = "aether.dependencyCollector.impl";
+    private static final String CONNECTOR_THREADS = "aether.connector.basic.threads";
+    private static final String METADATA_RESOLVER_THREADS = "aether.metadataResolver.threads";
+    private static final String COLLECTOR_THREADS = "aether.dependencyCollector.bf.threads";
 
-    private RepositorySystem repoSystem;
+    private final Config config;
 
-    private List<RemoteRepository> repositories;
+    private final RepositorySystem repoSystem;
 
-    private File localRepoDirectory;
+    private final NegativeCache negativeCache;
 
+    // Kept across the invocations of a daemon. What was worked out from repository metadata, i.e. the versions of
+    // snapshots, ranges, LATEST and RELEASE, can change by the next invocation, so the cache is replaced only when
+    // metadata was read. The update checks of the metadata are kept in the session, which is made for every call.
+    private volatile RepositoryCache repositoryCache = new DefaultRepositoryCache();
+    private volatile boolean metadataRead;
+    private final RepositoryListener metadataListener = new AbstractRepositoryListener() {
+
+        @Override
+        public void metadataResolved(RepositoryEvent event) {
+            metadataRead = true;
+        }
+
+    };
+
+    // The instance is shared for the life of the process, so the repository system is made once, and what depends on
+    // options such as --repository is worked out for each call.
     public ResolutionProviderImpl() {
-        this.repoSystem = ServiceLoader.load(RepositorySystemSupplier.class).findFirst().orElseThrow().get();
-        this.repositories = List.of(
-                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
-        this.localRepoDirectory = Path.of(System.getProperty("user.home"), ".m2", "repository").toFile();
+        this.repoSystem = Providers.get(RepositorySystemSupplier.class).get();
+        this.config = Config.getInstance();
+        this.negativeCache = NegativeCache.getInstance();
+    }
+
+    @Override
+    public void clearCache() {
+        if (metadataRead) {
+            metadataRead = false;
+            repositoryCache = new DefaultRepositoryCache();
+        }
     }
 
     @Override
     public Model readModel(String groupId, String artifactId, String version) {
-        var system = ServiceLoader.load(RepositorySystemSupplier.class).findFirst()
-                .orElseThrow(() -> new NoSuchElementException(
-                        "No provider for " + RepositorySystemSupplier.class.getName()))
-                .get();
+        var remote = remote();
+        var fetched = remote.pomFetcher().fetch(groupId, artifactId, version);
+        if (fetched.isPresent()) {
+            try {
+                return ModelCache.getInstance().read(groupId, artifactId, version, fetched.get(),
+                        new DefaultModelReader(null));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         var artifact = new DefaultArtifact(groupId, artifactId, null, "pom", version);
-        var sessionBuilder = new SessionBuilderSupplier(system).get()
-                .withLocalRepositoryBaseDirectories(
-                        localRepoDirectory);
-        try (
-                var session = sessionBuilder.build()) {
-            var artifactRequest = new ArtifactRequest(artifact, repositories, null);
-            var artifactResult = system.resolveArtifact(session, artifactRequest);
+        var sessionBuilder = newSessionBuilder(remote).setCache(repositoryCache);
+        try (var session = sessionBuilder.build()) {
+            var artifactResult = resolveArtifact(remote, session, artifact);
             var path = artifactResult.getArtifact().getFile().toPath();
 
-            var reader = new DefaultModelReader(null);
-            try (var is = Files.newInputStream(path)) {
-                return reader.read(is, Map.of());
-            }
+            return ModelCache.getInstance().read(groupId, artifactId, version, path, new DefaultModelReader(null));
         } catch (Exception e) {
             throw new IllegalStateException(e);
         }
@@ -109,8 +152,8 @@ public class ResolutionProviderImpl implements ResolutionProvider {
                 model.getVersion() instanceof String s ? s : Objects.requireNonNull(parent).getVersion(), props,
                 (File) null);
         var results = new CopyOnWriteArrayList<Dependency>();
-        var sessionBuilder = new SessionBuilderSupplier(repoSystem).get()
-                .withLocalRepositoryBaseDirectories(localRepoDirectory);
+        var remote = remote();
+        var sessionBuilder = newSessionBuilder(remote).setCache(repositoryCache);
         try (var session = sessionBuilder.build()) {
             sessionBuilder.setRepositoryListener(
                     new ChainedRepositoryListener(session.getRepositoryListener(), new AbstractRepositoryListener() {
@@ -122,10 +165,11 @@ public class ResolutionProviderImpl implements ResolutionProvider {
                                 return;
                             }
 
-                            var reader = new DefaultModelReader(null);
                             Model model;
                             try {
-                                model = reader.read(resolvedArtifact.getFile(), Map.of());
+                                model = ModelCache.getInstance().read(resolvedArtifact.getGroupId(),
+                                        resolvedArtifact.getArtifactId(), resolvedArtifact.getBaseVersion(),
+                                        resolvedArtifact.getFile().toPath(), new DefaultModelReader(null));
                             } catch (IOException e) {
                                 throw new UncheckedIOException(e);
                             }
@@ -143,15 +187,14 @@ public class ResolutionProviderImpl implements ResolutionProvider {
         }
 
         try (var session = sessionBuilder.build()) {
-            var artifactRequest = new ArtifactRequest(artifact, repositories, null);
-            var artifactResult = repoSystem.resolveArtifact(session, artifactRequest);
+            var artifactResult = resolveArtifact(remote, session, artifact);
 
-            var descRequest = new ArtifactDescriptorRequest(artifactResult.getArtifact(), repositories, null);
+            var descRequest = new ArtifactDescriptorRequest(artifactResult.getArtifact(), remote.repositories(), null);
             var descResult = repoSystem.readArtifactDescriptor(session, descRequest);
             LOG.fine(() -> "Collecting dependencies for " + artifact);
             var collectRequest = new CollectRequest();
             collectRequest.setRootArtifact(descResult.getArtifact());
-            collectRequest.setRepositories(repositories);
+            collectRequest.setRepositories(remote.repositories());
             repoSystem.collectDependencies(session, collectRequest);
         } catch (DependencyCollectionException | ArtifactDescriptorException | ArtifactResolutionException e) {
             LOG.log(Level.FINE, "", e);
@@ -161,4 +204,99 @@ public class ResolutionProviderImpl implements ResolutionProvider {
         return results.stream().findFirst();
     }
 
+    @Override
+    public DependencyNode collectDependencies(Path pomPath, Model model, int maxDepth) {
+        var workspace = new ProjectWorkspaceReader(pomPath, model);
+        var selector = new AndDependencySelector(new ScopeDependencySelector("test", "provided"),
+                new OptionalDependencySelector(), new ExclusionDependencySelector());
+        var remote = remote();
+        var sessionBuilder = newSessionBuilder(remote)
+                .setCache(repositoryCache)
+                .setWorkspaceReader(workspace)
+                // The collector derives the selector for the root before it selects the direct dependencies, so those are
+                // at depth 1. The scope selector keeps their test and provided ones, as there is no root dependency.
+                .setDependencySelector(new DepthLimitingSelector(selector, 0, maxDepth))
+                // Breadth-first collector fetches descriptors of a level in parallel.
+                .setConfigProperty(DEPENDENCY_COLLECTOR_IMPL, "bf");
+        try (var session = sessionBuilder.build()) {
+            // Like Maven, the project is the root artifact rather than a dependency, and its effective dependencies
+            // are given explicitly, so the scope filter only applies to transitive dependencies.
+            var project = workspace.getProjectArtifact();
+            LOG.fine(() -> "Collecting dependencies for " + project);
+            var descriptor = repoSystem.readArtifactDescriptor(session,
+                    new ArtifactDescriptorRequest(project, remote.repositories(), null));
+            var collectRequest = new CollectRequest();
+            collectRequest.setRootArtifact(descriptor.getArtifact());
+            collectRequest.setDependencies(descriptor.getDependencies());
+            collectRequest.setManagedDependencies(descriptor.getManagedDependencies());
+            collectRequest.setRepositories(remote.repositories());
+            return repoSystem.collectDependencies(session, collectRequest).getRoot();
+        } catch (DependencyCollectionException | ArtifactDescriptorException e) {
+            LOG.log(Level.FINE, "", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Remote remote() {
+        var repositoryUrl = config.getRepositoryUrl();
+        var repositoryId = repositoryUrl.toString().equals(CENTRAL_URL) ? "central" : "mirror";
+        var repositories = List.of(
+                new RemoteRepository.Builder(repositoryId, "default", repositoryUrl.toString()).build());
+        var localRepoDirectory = Path.of(System.getProperty("user.home"), ".m2", "repository").toFile();
+        var verifyChecksum = !config.getChecksumPolicy().filter("ignore"::equals).isPresent();
+        var pomFetcher = new DirectPomFetcher(localRepoDirectory.toPath(), repositoryId, repositoryUrl,
+                HttpClients.getDefault(), negativeCache, verifyChecksum);
+        return new Remote(repositories, localRepoDirectory, pomFetcher);
+    }
+
+    private SessionBuilder newSessionBuilder(Remote remote) {
+        var threads = config.getResolverThreads();
+        var sessionBuilder = new SessionBuilderSupplier(repoSystem).get()
+                .withLocalRepositoryBaseDirectories(remote.localRepoDirectory())
+                .setConfigProperty(CONNECTOR_THREADS, threads)
+                .setConfigProperty(METADATA_RESOLVER_THREADS, threads)
+                .setConfigProperty(COLLECTOR_THREADS, threads);
+        config.getChecksumPolicy().ifPresent(sessionBuilder::setChecksumPolicy);
+        config.getUpdatePolicy().ifPresent(sessionBuilder::setUpdatePolicy);
+        if (Trace.isEnabled()) {
+            var listener = new TraceListener();
+            sessionBuilder.setTransferListener(listener)
+                    .setRepositoryListener(new ChainedRepositoryListener(listener, metadataListener));
+        } else {
+            sessionBuilder.setRepositoryListener(metadataListener);
+        }
+        return sessionBuilder;
+    }
+
+    private ArtifactResult resolveArtifact(Remote remote, RepositorySystemSession session, Artifact artifact)
+            throws ArtifactResolutionException {
+        var repositories = remote.repositories();
+        var repository = repositories.stream().map(RemoteRepository::getUrl).collect(Collectors.joining(","));
+        var coordinate = artifact.toString();
+        var request = new ArtifactRequest(artifact, repositories, null);
+        // Only the exact coordinate, since a group and artifact without versions may still have this version.
+        if (negativeCache.isMissing(repository, coordinate)) {
+            // The same as when the resolver misses it, so callers handle both alike.
+            var result = new ArtifactResult(request);
+            for (var remoteRepository : repositories) {
+                result.addException(remoteRepository, new ArtifactNotFoundException(artifact, remoteRepository,
+                        "Could not find artifact " + coordinate + " in " + remoteRepository.getUrl()
+                                + " (cached)"));
+            }
+            throw new ArtifactResolutionException(List.of(result));
+        }
+
+        try {
+            return repoSystem.resolveArtifact(session, request);
+        } catch (ArtifactResolutionException e) {
+            if (e.getResults().stream().allMatch(ArtifactResult::isMissing)) {
+                negativeCache.markMissing(repository, coordinate);
+            }
+            throw e;
+        }
+    }
+
+    private record Remote(List<RemoteRepository> repositories, File localRepoDirectory, DirectPomFetcher pomFetcher) {
+    }
+
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+
+import com.github.andirady.pomcli.Trace;
+
+// Traces the downloads of the resolver, and the artifacts it finds in the local repository.
+class TraceListener extends AbstractRepositoryListener implements TransferListener {
+
+    private final Map<TransferResource, Transfer> transfers = new ConcurrentHashMap<>();
+
+    private record Transfer(Trace.Span span, AtomicInteger attempts) {
+    }
+
+    @Override
+    public void artifactResolved(RepositoryEvent event) {
+        if (event.getRepository() instanceof LocalRepository local && event.getFile() != null) {
+            Trace.client("GET", event.getFile().toURI(), local.getBasedir().toString()).cache("hit").close();
+        }
+    }
+
+    @Override
+    public void transferInitiated(TransferEvent event) {
+        var resource = event.getResource();
+        var method = switch (event.getRequestType()) {
+            case GET -> "GET";
+            case GET_EXISTENCE -> "HEAD";
+            case PUT -> "PUT";
+        };
+        var uri = URI.create(resource.getRepositoryUrl() + resource.getResourceName());
+        var span = Trace.client(method, uri, resource.getRepositoryUrl()).cache("miss");
+        transfers.put(resource, new Transfer(span, new AtomicInteger()));
+    }
+
+    // Started again for the same resource when the resolver retries, e.g. after a checksum mismatch.
+    @Override
+    public void transferStarted(TransferEvent event) {
+        if (transfers.get(event.getResource()) instanceof Transfer transfer) {
+            transfer.attempts().incrementAndGet();
+        }
+    }
+
+    @Override
+    public void transferProgressed(TransferEvent event) {
+    }
+
+    @Override
+    public void transferCorrupted(TransferEvent event) {
+    }
+
+    @Override
+    public void transferSucceeded(TransferEvent event) {
+        if (transfers.remove(event.getResource()) instanceof Transfer transfer) {
+            end(transfer).status(200).attribute("http.response.body.size", event.getTransferredBytes()).close();
+        }
+    }
+
+    @Override
+    public void transferFailed(TransferEvent event) {
+        if (transfers.remove(event.getResource()) instanceof Transfer transfer) {
+            var span = end(transfer);
+            switch (event.getException()) {
+                case ArtifactNotFoundException _, MetadataNotFoundException _ -> span.status(404);
+                case Exception e -> span.error(e);
+                case null -> {
+                }
+            }
+            span.close();
+        }
+    }
+
+    private Trace.Span end(Transfer transfer) {
+        var attempts = transfer.attempts().get();
+        return attempts > 1 ? transfer.span().attribute("http.request.resend_count", attempts - 1) : transfer.span();
+    }
+}
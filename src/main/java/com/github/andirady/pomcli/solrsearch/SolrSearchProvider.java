@@ -15,13 +15,14 @@
  */
 package com.github.andirady.pomcli.solrsearch;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.RecordComponent;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodySubscriber;
@@ -35,20 +36,29 @@ import java.util.zip.GZIPInputStream;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.github.andirady.pomcli.Config;
+import com.github.andirady.pomcli.HttpClients;
 import com.github.andirady.pomcli.SearchProvider;
+import com.github.andirady.pomcli.Trace;
 
 public class SolrSearchProvider implements SearchProvider {
 
     private static final ObjectMapper OM = JsonMapper.builder().addModule(new AfterburnerModule()).build();
-    private static final HttpClient httpClient = HttpClient.newHttpClient();
 
     @Override
     public SolrSearchResult search(SolrSearchRequest req) {
-        var httpReq = HttpRequest.newBuilder(makeUri(req)).GET()
+        var uri = makeUri(req);
+        var httpReq = HttpRequest.newBuilder(uri).GET()
                 .headers("Accept", "application/json", "Accept-Encoding", "gzip").build();
-        try {
-            var httpResp = httpClient.send(httpReq, this::bodyHandler);
-            return httpResp.body();
+        try (var span = Trace.client("GET", uri, Config.getInstance().getSearchUrl().toString()).cache("miss")) {
+            try {
+                var httpResp = HttpClients.send(HttpClients.getDefault(), httpReq,
+                        respInfo -> bodyHandler(respInfo, span));
+                return httpResp.body();
+            } catch (IOException | RuntimeException e) {
+                span.error(e);
+                throw e;
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (InterruptedException e) {
@@ -57,14 +67,16 @@ public class SolrSearchProvider implements SearchProvider {
         }
     }
 
-    private BodySubscriber<SolrSearchResult> bodyHandler(HttpResponse.ResponseInfo respInfo) {
+    private BodySubscriber<SolrSearchResult> bodyHandler(HttpResponse.ResponseInfo respInfo, Trace.Span span) {
         var sc = respInfo.statusCode();
+        span.status(sc);
         if (sc != 200) {
             throw new IllegalStateException("Server returns error: statusCode=" + sc);
         }
 
         var contEnc = respInfo.headers().firstValue("Content-Encoding");
-        var upstream = HttpResponse.BodySubscribers.ofInputStream();
+        var upstream = BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                is -> span.isRecording() ? new CountingInputStream(is, span) : is);
 
         return BodySubscribers.mapping(upstream, contEnc.filter("gzip"::equals).isPresent()
                 ? is -> {
@@ -83,12 +95,49 @@ public class SolrSearchProvider implements SearchProvider {
                 });
     }
 
+    // Counts the bytes as received, before they are decompressed.
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final Trace.Span span;
+        private long count;
+
+        CountingInputStream(InputStream in, Trace.Span span) {
+            super(in);
+            this.span = span;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            span.attribute("http.response.body.size", count);
+            super.close();
+        }
+    }
+
     private URI makeUri(SolrSearchRequest req) {
         var query = Arrays.stream(SolrSearchRequest.class.getRecordComponents()).map(toKeyValue(req))
                 .filter(Objects::nonNull).map(Object::toString).collect(Collectors.joining("&"));
 
         try {
-            return new URI("https", "search.maven.org", "/solrsearch/select", query, null);
+            var base = Config.getInstance().getSearchUrl();
+            return new URI(base.getScheme(), base.getAuthority(), base.getPath(), query, null);
         } catch (URISyntaxException e) {
             throw new IllegalStateException(e);
         }
@@ -656,6 +656,21 @@ class AddCommandTest extends BaseTest {
         assertSame(1, ec);
     }
 
+    @Test
+    void shouldAcceptCoordinateLinesFromStdin(TestInfo testInfo) throws Exception {
+        var pomPath = Files.createDirectory(tempDir.resolve(testInfo.getTestMethod().get().getName()))
+                .resolve("pom.xml");
+        var ec = executeWithStdin("""
+                # migrated from build.gradle
+                g:a:1
+
+                g:b:2
+                """, "add", "-d", "-f", pomPath.toString());
+        assertSame(0, ec);
+        assertXpath(pomPath, "/project/dependencies/dependency[artifactId='a' and version='1']", 1);
+        assertXpath(pomPath, "/project/dependencies/dependency[artifactId='b' and version='2']", 1);
+    }
+
     int executeWithStdin(String input, String... args) {
         System.setIn(new java.io.ByteArrayInputStream(input.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
         underTest = Main.createCommandLine(new Main());
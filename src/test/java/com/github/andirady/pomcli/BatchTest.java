@@ -0,0 +1,89 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import picocli.CommandLine;
+
+class BatchTest extends BaseTest {
+
+    CommandLine underTest;
+    Path projectPath;
+    StringWriter out;
+    StringWriter err;
+
+    @BeforeEach
+    void setup() {
+        underTest = Main.createCommandLine(new Main());
+        out = new StringWriter();
+        err = new StringWriter();
+        underTest.setOut(new PrintWriter(out));
+        underTest.setErr(new PrintWriter(err));
+        projectPath = getTempPath();
+    }
+
+    @Test
+    void shouldRunEachLine() throws Exception {
+        var pomPath = projectPath.resolve("pom.xml");
+        var script = Files.writeString(projectPath.resolve("script.txt"), """
+                # Scaffold
+                pom id -s -f %1$s g:a:1
+
+                set -f %1$s 'greeting=hello world'
+                get -f %1$s greeting
+                """.formatted(pomPath));
+
+        var ec = underTest.execute("--batch", script.toString());
+
+        assertEquals(0, ec);
+        assertEquals("jar g:a:1\nhello world\n", out.toString().replace("\r\n", "\n"));
+        assertXpath(pomPath, "/project/properties/greeting[text()='hello world']", 1);
+    }
+
+    @Test
+    void shouldNotWriteAnythingIfALineFails() throws Exception {
+        var pomPath = projectPath.resolve("pom.xml");
+        var script = Files.writeString(projectPath.resolve("script.txt"), """
+                id -s -f %1$s g:a:1
+                unset -f %1$s missing
+                """.formatted(pomPath));
+
+        var ec = underTest.execute("--batch", script.toString());
+
+        assertEquals(1, ec);
+        assertFalse(Files.exists(pomPath));
+        assertTrue(err.toString().contains("Stopped at line 2"), err::toString);
+    }
+
+    @Test
+    void shouldSplitLikeAShell() {
+        assertEquals(List.of("set", "a=b c", "d=\"e\"", "f g"),
+                Batch.split("  set \"a=b c\" 'd=\"e\"' f\\ g # comment", 1));
+    }
+
+}
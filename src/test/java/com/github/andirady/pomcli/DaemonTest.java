@@ -0,0 +1,129 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DaemonTest extends BaseTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path socket;
+    Thread server;
+    InputStream stdin;
+    PrintStream stdout;
+
+    @BeforeEach
+    void setup() {
+        socket = tempDir.resolve("d.sock");
+        stdin = System.in;
+        stdout = System.out;
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        System.setIn(stdin);
+        System.setOut(stdout);
+        if (server != null) {
+            Daemon.stop(socket);
+            server.join(10_000);
+        }
+    }
+
+    @Test
+    void shouldRunCommandsWithClientStreams() throws Exception {
+        start(Daemon.workingDirectory());
+        var pomPath = getTempPath().resolve("pom.xml");
+
+        assertEquals(OptionalInt.of(0), forward("id", "-s", "-f", pomPath.toString(), "g:a:1"));
+        System.setIn(new ByteArrayInputStream("g:b:2\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(OptionalInt.of(0), forward("add", "-f", pomPath.toString()));
+        var out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertEquals(OptionalInt.of(0), forward("id", "-f", pomPath.toString()));
+
+        assertEquals("jar g:a:1", out.toString(StandardCharsets.UTF_8).strip());
+        assertXpath(pomPath, "/project/dependencies/dependency[artifactId='b' and version='2']", 1);
+    }
+
+    @Test
+    void shouldLeaveStdinToCommandsThatReadIt() throws Exception {
+        start(Daemon.workingDirectory());
+        var pomPath = getTempPath().resolve("pom.xml");
+        var input = new ByteArrayInputStream("g:b:2\n".getBytes(StandardCharsets.UTF_8));
+        System.setIn(input);
+
+        assertEquals(OptionalInt.of(0), forward("id", "-s", "-f", pomPath.toString(), "g:a:1"));
+
+        assertEquals(6, input.available());
+    }
+
+    @Test
+    void shouldRefuseCommandsFromAnotherDirectory() throws Exception {
+        start(tempDir);
+
+        assertEquals(OptionalInt.empty(), forward("id"));
+    }
+
+    @Test
+    void shouldRemoveSocketWhenStopped() throws Exception {
+        start(Daemon.workingDirectory());
+
+        assertTrue(Daemon.stop(socket));
+        server.join(10_000);
+        server = null;
+
+        assertFalse(Files.exists(socket));
+        assertEquals(OptionalInt.empty(), forward("id"));
+    }
+
+    private OptionalInt forward(String... args) {
+        return Daemon.forward(socket, args);
+    }
+
+    private void start(Path directory) throws Exception {
+        server = new Thread(() -> {
+            try {
+                Daemon.serve(socket, directory);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+        server.start();
+        for (var i = 0; i < 100 && !Files.exists(socket); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(socket));
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DependencyGraphTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindAllPaths() throws Exception {
+        var graph = diamond();
+
+        assertEquals(List.of(
+                List.of("g:root:1", "g:b:jar:1:compile", "g:d:jar:1:compile"),
+                List.of("g:root:1", "g:c:jar:1:runtime", "g:d:jar:1:compile")),
+                graph.pathsTo(null, "d", 10));
+        assertEquals(List.of(), graph.pathsTo("x", "d", 10));
+    }
+
+    @Test
+    void shouldStopAtTheLimit() throws Exception {
+        assertEquals(List.of(List.of("g:root:1", "g:b:jar:1:compile", "g:d:jar:1:compile")),
+                diamond().pathsTo("g", "d", 1));
+    }
+
+    @Test
+    void shouldRoundTrip() throws Exception {
+        var file = tempDir.resolve("graph");
+        diamond().write(file);
+
+        var graph = DependencyGraph.read(file);
+        assertEquals(2, graph.pathsTo("g", "d", 10).size());
+    }
+
+    private DependencyGraph diamond() {
+        var root = new DefaultDependencyNode(new DefaultArtifact("g:root:pom:1"));
+        var b = node("b", "compile");
+        var c = node("c", "runtime");
+        var d = node("d", "compile");
+        b.setChildren(List.of(d));
+        c.setChildren(List.of(d));
+        root.setChildren(List.of(b, c));
+        return DependencyGraph.of(root);
+    }
+
+    private DefaultDependencyNode node(String artifactId, String scope) {
+        return new DefaultDependencyNode(new Dependency(new DefaultArtifact("g:" + artifactId + ":1"), scope));
+    }
+
+}
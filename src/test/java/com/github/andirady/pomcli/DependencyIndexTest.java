@@ -0,0 +1,60 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.junit.jupiter.api.Test;
+
+class DependencyIndexTest {
+
+    @Test
+    void shouldMatchIgnoringTypeButNotClassifier() {
+        var index = new DependencyIndex(List.of(dependency("g", "a", null, "pom")));
+
+        assertTrue(index.contains(dependency("g", "a", null, null)));
+        assertTrue(index.contains(dependency(null, "a", null, null)));
+        assertFalse(index.contains(dependency("h", "a", null, null)));
+        assertFalse(index.contains(dependency("g", "a", "tests", null)));
+    }
+
+    @Test
+    void shouldFindFirstMatchWithOrWithoutGroupId() {
+        var first = dependency("g", "a", null, null);
+        var second = dependency("h", "a", null, null);
+        var index = new DependencyIndex(List.of(first, second));
+
+        assertEquals(first, index.find(null, "a").orElseThrow());
+        assertEquals(second, index.find("h", "a").orElseThrow());
+        assertTrue(index.find("g", "b").isEmpty());
+    }
+
+    private static Dependency dependency(String groupId, String artifactId, String classifier, String type) {
+        var d = new Dependency();
+        d.setGroupId(groupId);
+        d.setArtifactId(artifactId);
+        d.setClassifier(classifier);
+        if (type != null) {
+            d.setType(type);
+        }
+        return d;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.maven.model.Dependency;
+import org.junit.jupiter.api.Test;
+
+class DependencyReaderTest {
+
+    @Test
+    void shouldReadNestedElementsOfEachDependency() {
+        var deps = read("""
+                <dependencies>
+                  <!-- copied from another build -->
+                  <dependency>
+                    <groupId>g</groupId>
+                    <artifactId>a</artifactId>
+                    <version>1</version>
+                    <scope> test </scope>
+                    <exclusions>
+                      <exclusion>
+                        <groupId>x</groupId>
+                        <artifactId>y</artifactId>
+                      </exclusion>
+                    </exclusions>
+                    <unknown><nested>z</nested></unknown>
+                  </dependency>
+                  <dependency>
+                    <artifactId>b</artifactId>
+                    <optional>true</optional>
+                  </dependency>
+                </dependencies>
+                """).toList();
+
+        assertEquals(2, deps.size());
+        assertEquals("g:a:1:test", deps.get(0).getGroupId() + ":" + deps.get(0).getArtifactId() + ":"
+                + deps.get(0).getVersion() + ":" + deps.get(0).getScope());
+        assertEquals("x:y", deps.get(0).getExclusions().get(0).getGroupId() + ":"
+                + deps.get(0).getExclusions().get(0).getArtifactId());
+        assertEquals(List.of("b", "true"), List.of(deps.get(1).getArtifactId(), deps.get(1).getOptional()));
+    }
+
+    @Test
+    void shouldFailOnDependencyWithoutArtifactId() {
+        var deps = read("""
+                <dependency>
+                  <groupId>g</groupId>
+                </dependency>
+                """);
+
+        assertThrows(IllegalArgumentException.class, deps::toList);
+    }
+
+    private Stream<Dependency> read(String input) {
+        return DependencyReader.read(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
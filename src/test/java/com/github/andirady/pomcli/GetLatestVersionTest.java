@@ -21,6 +21,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
@@ -29,9 +31,12 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -104,6 +109,23 @@ class GetLatestVersionTest {
         assertEquals("1.0.0", version);
     }
 
+    @Test
+    void shouldNotRequestAgainWhenKnownToBeMissing(@TempDir Path tempDir) throws Exception {
+        var httpClient = mock(HttpClient.class);
+        var httpResp = mock(InputStreamResponse.class);
+
+        doReturn(httpResp).when(httpClient).send(any(), any());
+        when(httpResp.statusCode()).thenReturn(404);
+
+        var negativeCache = new NegativeCache(tempDir, Duration.ofMinutes(1));
+        var underTest = new GetLatestVersion(httpClient, negativeCache);
+        assertTrue(underTest.execute(QuerySpec.of("foo:bar")).isEmpty());
+        assertTrue(underTest.execute(QuerySpec.of("foo:bar")).isEmpty());
+        assertTrue(new GetLatestVersion(httpClient, negativeCache).execute(QuerySpec.of("foo:bar")).isEmpty());
+
+        verify(httpClient, times(1)).send(any(), any());
+    }
+
     public interface InputStreamResponse extends HttpResponse<InputStream> {
     }
 
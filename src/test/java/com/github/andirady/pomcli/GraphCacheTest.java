@@ -0,0 +1,135 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldResolveAgainWhenTheLocalParentChanges() throws IOException {
+        var parentPath = Files.writeString(tempDir.resolve("pom.xml"), parent("1.0"));
+        var pomPath = Files.writeString(Files.createDirectories(tempDir.resolve("a")).resolve("pom.xml"), child());
+        var pom = PomFiles.read(pomPath);
+        var cache = new GraphCache(tempDir.resolve("cache"), 1024 * 1024);
+        var resolutions = new AtomicInteger();
+
+        cache.get(pomPath, pom, () -> graph(resolutions));
+        cache.get(pomPath, pom, () -> graph(resolutions));
+        assertEquals(1, resolutions.get());
+
+        Files.writeString(parentPath, parent("2.0"));
+        cache.get(pomPath, pom, () -> graph(resolutions));
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsed() throws IOException {
+        var cache = new GraphCache(tempDir.resolve("cache"), 1);
+        for (var i = 0; i < 3; i++) {
+            var pomPath = Files.writeString(tempDir.resolve("pom" + i + ".xml"), child());
+            cache.get(pomPath, PomFiles.read(pomPath), () -> graph(new AtomicInteger()));
+        }
+
+        try (var files = Files.list(tempDir.resolve("cache"))) {
+            assertTrue(files.count() <= 1);
+        }
+    }
+
+    @Test
+    void shouldNotKeepGraphsWithChangingVersions() throws Exception {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), child());
+        var pom = PomFiles.read(pomPath);
+        var cache = new GraphCache(tempDir.resolve("cache"), 1024 * 1024);
+        var resolutions = new AtomicInteger();
+
+        var range = new DefaultDependencyNode(new Dependency(new DefaultArtifact("g:b:1.5"), "compile"));
+        range.setVersionConstraint(new GenericVersionScheme().parseVersionConstraint("[1,2)"));
+        var snapshot = new DefaultDependencyNode(new Dependency(new DefaultArtifact("g:c:1.0-SNAPSHOT"), "compile"));
+        for (var child : List.of(range, snapshot)) {
+            cache.get(pomPath, pom, () -> graph(resolutions, child));
+            cache.get(pomPath, pom, () -> graph(resolutions, child));
+        }
+
+        assertEquals(4, resolutions.get());
+    }
+
+    private DependencyGraph graph(AtomicInteger resolutions, DependencyNode child) {
+        resolutions.incrementAndGet();
+        var root = new DefaultDependencyNode(new DefaultArtifact("g:a:pom:1.0"));
+        root.setChildren(List.of(child));
+        return DependencyGraph.of(root);
+    }
+
+    private DependencyGraph graph(AtomicInteger resolutions) {
+        resolutions.incrementAndGet();
+        var root = new DefaultDependencyNode(new DefaultArtifact("g:a:pom:1.0"));
+        root.setChildren(List.of());
+        return DependencyGraph.of(root);
+    }
+
+    private String parent(String dependencyVersion) {
+        return """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>parent</artifactId>
+                  <version>1</version>
+                  <packaging>pom</packaging>
+                  <dependencies>
+                    <dependency>
+                      <groupId>g</groupId>
+                      <artifactId>d</artifactId>
+                      <version>%s</version>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """.formatted(dependencyVersion);
+    }
+
+    private String child() {
+        return """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <parent>
+                    <groupId>g</groupId>
+                    <artifactId>parent</artifactId>
+                    <version>1</version>
+                  </parent>
+                  <artifactId>a</artifactId>
+                </project>
+                """;
+    }
+
+}
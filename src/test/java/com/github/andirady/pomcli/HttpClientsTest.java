@@ -0,0 +1,71 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class HttpClientsTest {
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty("pomcli.resolver.threads");
+    }
+
+    @Test
+    void shouldLimitRequestsInFlightPerHost() throws Exception {
+        System.setProperty("pomcli.resolver.threads", "2");
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/a");
+            for (var i = 0; i < 10; i++) {
+                executor.submit(() -> HttpClients.send(HttpClients.getDefault(), HttpRequest.newBuilder(uri).build(),
+                        BodyHandlers.discarding()));
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        assertEquals(2, maxInFlight.get());
+    }
+
+}
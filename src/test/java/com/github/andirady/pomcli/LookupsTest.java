@@ -0,0 +1,145 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class LookupsTest {
+
+    @Test
+    void shouldKeepOrder() {
+        var items = List.of(30, 20, 10, 0);
+
+        var result = Lookups.map(items, i -> {
+            sleep(i);
+            return "v" + i;
+        }, Duration.ofSeconds(10));
+
+        assertEquals(List.of("v30", "v20", "v10", "v0"), result);
+    }
+
+    @Test
+    void shouldRunMoreLookupsThanProcessorsAtOnce() {
+        var count = Runtime.getRuntime().availableProcessors() * 4;
+        var started = new CountDownLatch(count);
+
+        var result = Lookups.map(IntStream.range(0, count).boxed().toList(), i -> {
+            started.countDown();
+            try {
+                return started.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, Duration.ofSeconds(30));
+
+        assertTrue(result.stream().allMatch(Boolean::booleanValue));
+    }
+
+    @Test
+    void shouldRunInTheSessionOfTheCaller() {
+        try (var session = PomSession.begin()) {
+            var result = Lookups.map(List.of(1, 2), _ -> PomSession.current(), Duration.ofSeconds(10));
+
+            assertEquals(List.of(session, session), result);
+        }
+    }
+
+    @Test
+    void shouldCancelOthersOnFailure() {
+        var interrupted = new AtomicInteger();
+
+        var e = assertThrows(IllegalStateException.class, () -> Lookups.map(List.of(0, 1, 2, 3), i -> {
+            if (i == 2) {
+                throw new IllegalStateException("No version found: 'g:a'");
+            }
+            try {
+                Thread.sleep(Duration.ofSeconds(30));
+            } catch (InterruptedException ie) {
+                interrupted.incrementAndGet();
+            }
+            return i;
+        }, Duration.ofSeconds(60)));
+
+        assertEquals("No version found: 'g:a'", e.getMessage());
+        assertEquals(3, interrupted.get());
+    }
+
+    @Test
+    void shouldFailAfterDeadline() {
+        var start = System.nanoTime();
+
+        var e = assertThrows(IllegalStateException.class, () -> Lookups.map(List.of(1, 2), i -> {
+            sleep(30_000);
+            return i;
+        }, Duration.ofMillis(100)));
+
+        assertTrue(e.getMessage().startsWith("Lookups did not finish"), e.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void shouldFailAfterDeadlineWithASingleLookup() {
+        var e = assertThrows(IllegalStateException.class, () -> Lookups.map(List.of(1), i -> {
+            sleep(30_000);
+            return i;
+        }, Duration.ofMillis(100)));
+
+        assertTrue(e.getMessage().startsWith("Lookups did not finish"), e.getMessage());
+    }
+
+    @Test
+    void shouldNotWaitForLookupsIgnoringInterrupts() {
+        var release = new CountDownLatch(1);
+        var start = System.nanoTime();
+
+        try {
+            assertThrows(IllegalStateException.class, () -> Lookups.map(List.of(1, 2), i -> {
+                while (true) {
+                    try {
+                        release.await();
+                        return i;
+                    } catch (InterruptedException e) {
+                        // ignored, like a lookup blocked where interrupts are not seen
+                    }
+                }
+            }, Duration.ofMillis(100)));
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
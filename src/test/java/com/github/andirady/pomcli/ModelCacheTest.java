@@ -0,0 +1,187 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.TreeMap;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.DefaultModelReader;
+import org.apache.maven.model.io.DefaultModelWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModelCacheTest {
+
+    private static final String POM = """
+            <project>
+              <modelVersion>4.0.0</modelVersion>
+              <parent>
+                <groupId>g</groupId>
+                <artifactId>parent</artifactId>
+                <version>1</version>
+              </parent>
+              <artifactId>a</artifactId>
+              <packaging>pom</packaging>
+              <properties>
+                <b>2</b>
+                <a>1</a>
+              </properties>
+              <dependencyManagement>
+                <dependencies>
+                  <dependency>
+                    <groupId>g</groupId>
+                    <artifactId>bom</artifactId>
+                    <version>${a}</version>
+                    <type>pom</type>
+                    <scope>import</scope>
+                    <exclusions>
+                      <exclusion>
+                        <groupId>x</groupId>
+                        <artifactId>y</artifactId>
+                      </exclusion>
+                    </exclusions>
+                  </dependency>
+                </dependencies>
+              </dependencyManagement>
+              <build>
+                <pluginManagement>
+                  <plugins>
+                    <plugin>
+                      <artifactId>maven-compiler-plugin</artifactId>
+                      <configuration>
+                        <compilerArgs combine.children="append">
+                          <arg>-Xlint</arg>
+                        </compilerArgs>
+                      </configuration>
+                      <executions>
+                        <execution>
+                          <id>default-compile</id>
+                          <goals>
+                            <goal>compile</goal>
+                          </goals>
+                        </execution>
+                      </executions>
+                    </plugin>
+                  </plugins>
+                </pluginManagement>
+              </build>
+              <profiles>
+                <profile>
+                  <id>release</id>
+                  <activation>
+                    <property>
+                      <name>release</name>
+                    </property>
+                  </activation>
+                  <distributionManagement>
+                    <repository>
+                      <id>r</id>
+                      <url>https://example.com</url>
+                    </repository>
+                  </distributionManagement>
+                </profile>
+              </profiles>
+            </project>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadTheSameModelFromCache() throws IOException {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), POM);
+        var cache = new ModelCache(tempDir.resolve("cache"), 1024 * 1024);
+
+        var parsed = cache.read(pomPath, new DefaultModelReader(null));
+        var cached = cache.read(pomPath, new DefaultModelReader(null));
+
+        assertEquals(write(parsed), write(cached));
+        try (var files = Files.list(tempDir.resolve("cache"))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void shouldReparseModifiedFile() throws IOException {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), POM);
+        var cache = new ModelCache(tempDir.resolve("cache"), 1024 * 1024);
+        cache.read(pomPath, new DefaultModelReader(null));
+
+        Files.writeString(pomPath, POM.replace("<artifactId>a</artifactId>", "<artifactId>b</artifactId>"));
+        Files.setLastModifiedTime(pomPath, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+
+        assertEquals("b", cache.read(pomPath, new DefaultModelReader(null)).getArtifactId());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() throws IOException {
+        var cacheDir = tempDir.resolve("cache");
+        var entrySize = ModelCodec.encode(new DefaultModelReader(null).read(new StringReader(POM), null)
+                .getDelegate()).length;
+        var cache = new ModelCache(cacheDir, entrySize * 2L);
+
+        for (var v : new String[] { "1", "2", "3" }) {
+            var pomPath = Files.writeString(tempDir.resolve(v + ".xml"), POM);
+            cache.read("g", "a", v, pomPath, new DefaultModelReader(null));
+        }
+
+        try (var files = Files.list(cacheDir)) {
+            assertTrue(files.count() <= 2);
+        }
+    }
+
+    @Test
+    void shouldMergeCachedConfigurationLikeParsedOne() throws IOException {
+        var reader = new DefaultModelReader(null);
+        var parsed = reader.read(new StringReader(POM), null).getDelegate();
+        var cached = ModelCodec.decode(ModelCodec.encode(parsed));
+        var child = reader.read(new StringReader(POM.replace("<arg>-Xlint</arg>", "<arg>-Werror</arg>")), null)
+                .getDelegate();
+
+        var expected = configuration(child).merge(configuration(parsed));
+        var actual = configuration(child).merge(configuration(cached));
+
+        assertEquals(write(expected), write(actual));
+        assertEquals(write(configuration(parsed).merge(configuration(child))),
+                write(configuration(cached).merge(configuration(child))));
+    }
+
+    private static XmlNode configuration(org.apache.maven.api.model.Model model) {
+        return model.getBuild().getPluginManagement().getPlugins().get(0).getConfiguration();
+    }
+
+    private static String write(XmlNode node) {
+        var children = node.getChildren().stream().map(ModelCacheTest::write).toList();
+        return node.getName() + new TreeMap<>(node.getAttributes()) + "=" + node.getValue() + children;
+    }
+
+    private String write(Model model) throws IOException {
+        var writer = new StringWriter();
+        new DefaultModelWriter().write(writer, null, model);
+        return writer.toString();
+    }
+
+}
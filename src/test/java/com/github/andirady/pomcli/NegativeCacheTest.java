@@ -0,0 +1,75 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NegativeCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRememberMissingCoordinate() {
+        var underTest = new NegativeCache(tempDir, Duration.ofMinutes(1));
+        assertFalse(underTest.isMissing("https://example.com/maven2", "g:a"));
+
+        underTest.markMissing("https://example.com/maven2", "g:a");
+
+        assertTrue(underTest.isMissing("https://example.com/maven2", "g:a"));
+        assertTrue(underTest.isMissing("https://example.com/maven2/", "g:a"));
+        assertFalse(underTest.isMissing("https://example.com/other", "g:a"));
+        assertFalse(underTest.isMissing("https://example.com/maven2", "g:b"));
+    }
+
+    @Test
+    void shouldShareEntriesBetweenInstances() {
+        new NegativeCache(tempDir, Duration.ofMinutes(1)).markMissing("https://example.com", "g:a");
+
+        assertTrue(new NegativeCache(tempDir, Duration.ofMinutes(1)).isMissing("https://example.com", "g:a"));
+    }
+
+    @Test
+    void shouldExpireEntries() throws Exception {
+        new NegativeCache(tempDir, Duration.ofMinutes(1)).markMissing("https://example.com", "g:a");
+        try (var files = Files.list(tempDir)) {
+            for (var file : files.toList()) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofMinutes(2))));
+            }
+        }
+
+        assertFalse(new NegativeCache(tempDir, Duration.ofMinutes(1)).isMissing("https://example.com", "g:a"));
+    }
+
+    @Test
+    void shouldBeDisabledWhenTtlIsZero() {
+        var underTest = new NegativeCache(tempDir, Duration.ZERO);
+        underTest.markMissing("https://example.com", "g:a");
+
+        assertFalse(underTest.isMissing("https://example.com", "g:a"));
+    }
+
+}
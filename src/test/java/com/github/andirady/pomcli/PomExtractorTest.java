@@ -0,0 +1,110 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PomExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldNotConfuseNestedElements() throws IOException {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), """
+                <project>
+                  <parent>
+                    <groupId>p</groupId>
+                    <version>2</version>
+                  </parent>
+                  <dependencies>
+                    <dependency>
+                      <groupId>d</groupId>
+                      <version>3</version>
+                    </dependency>
+                  </dependencies>
+                  <profiles>
+                    <profile>
+                      <properties>
+                        <foo>profile</foo>
+                      </properties>
+                    </profile>
+                  </profiles>
+                  <groupId> g </groupId>
+                  <properties>
+                    <foo>bar</foo>
+                  </properties>
+                </project>
+                """);
+
+        var values = PomExtractor.extract(pomPath,
+                List.of("project/groupId", "project/version", "project/parent/version", "project/properties/foo"));
+
+        assertEquals(Map.of("project/groupId", "g", "project/parent/version", "2", "project/properties/foo", "bar"),
+                values);
+    }
+
+    @Test
+    void shouldStopOnceAllPathsAreFound() throws IOException {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), """
+                <project>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <dependencies><dependency></dependencies>
+                """);
+
+        assertEquals(Map.of("project/groupId", "g", "project/artifactId", "a"),
+                PomExtractor.extract(pomPath, List.of("project/groupId", "project/artifactId")));
+        assertThrows(IOException.class, () -> PomExtractor.extract(pomPath, List.of("project/version")));
+    }
+
+    @Test
+    void shouldStopAtStopPaths() throws IOException {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), """
+                <project>
+                  <groupId>g</groupId>
+                  <dependencies><dependency></dependencies>
+                """);
+
+        assertEquals(Map.of("project/groupId", "g"), PomExtractor.extract(pomPath,
+                List.of("project/groupId", "project/parent/groupId"), List.of("project/dependencies")));
+    }
+
+    @Test
+    void shouldNotResolveExternalEntities() throws IOException {
+        var secret = Files.writeString(tempDir.resolve("secret.txt"), "secret");
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), """
+                <?xml version="1.0"?>
+                <!DOCTYPE project [<!ENTITY xxe SYSTEM "%s">]>
+                <project>
+                  <version>&xxe;</version>
+                </project>
+                """.formatted(secret.toUri()));
+
+        assertThrows(IOException.class, () -> PomExtractor.extract(pomPath, List.of("project/version")));
+    }
+
+}
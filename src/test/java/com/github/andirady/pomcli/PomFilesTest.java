@@ -0,0 +1,214 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PomFilesTest {
+
+    private static final String POM = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!-- Keep me -->
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+                <artifactId>a</artifactId> <groupId>g</groupId>
+                <version>1</version>
+
+                <properties>
+                    <!-- Java version -->
+                    <maven.compiler.release>17</maven.compiler.release>
+                </properties>
+                <dependencies>
+                    <dependency>
+                        <groupId>junit</groupId>
+                        <artifactId>junit</artifactId>
+                        <version>4.13</version>
+                        <scope>test</scope>
+                    </dependency>
+                </dependencies>
+            </project>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldOnlyChangeEditedValue() throws Exception {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), POM);
+
+        var model = PomFiles.read(pomPath);
+        model.getProperties().setProperty("maven.compiler.release", "21");
+        PomFiles.write(pomPath, model);
+
+        assertEquals(POM.replace(">17<", ">21<"), Files.readString(pomPath));
+    }
+
+    @Test
+    void shouldInsertWithSameIndentationAndLineSeparator() throws Exception {
+        var source = POM.replace("    ", "\t").replace("\n", "\r\n");
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), source);
+
+        var model = PomFiles.read(pomPath);
+        var dependency = new Dependency();
+        dependency.setGroupId("org.slf4j");
+        dependency.setArtifactId("slf4j-api");
+        dependency.setVersion("2.0.17");
+        model.getDependencies().add(dependency);
+        PomFiles.write(pomPath, model);
+
+        var expected = source.replace("\t\t</dependency>\r\n", """
+                \t\t</dependency>\r
+                \t\t<dependency>\r
+                \t\t\t<groupId>org.slf4j</groupId>\r
+                \t\t\t<artifactId>slf4j-api</artifactId>\r
+                \t\t\t<version>2.0.17</version>\r
+                \t\t</dependency>\r
+                """);
+        assertEquals(expected, Files.readString(pomPath));
+    }
+
+    @Test
+    void shouldRemoveEmptiedSection() throws Exception {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), POM);
+
+        var model = PomFiles.read(pomPath);
+        model.getDependencies().clear();
+        PomFiles.write(pomPath, model);
+
+        var expected = POM.substring(0, POM.indexOf("    <dependencies>")) + "</project>\n";
+        assertEquals(expected, Files.readString(pomPath));
+    }
+
+    @Test
+    void shouldAddMissingSection() throws Exception {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), """
+                <project>
+                    <!-- no properties yet -->
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>g</groupId>
+                    <artifactId>a</artifactId>
+                    <version>1</version>
+                </project>
+                """);
+
+        var model = PomFiles.read(pomPath);
+        model.getProperties().setProperty("foo", "bar & baz");
+        PomFiles.write(pomPath, model);
+
+        assertEquals("""
+                <project>
+                    <!-- no properties yet -->
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>g</groupId>
+                    <artifactId>a</artifactId>
+                    <version>1</version>
+                    <properties>
+                        <foo>bar &amp; baz</foo>
+                    </properties>
+                </project>
+                """, Files.readString(pomPath));
+    }
+
+    @Test
+    void shouldKeepByteOrderMarkAndEncoding() throws Exception {
+        var source = POM.replace("UTF-8", "UTF-16");
+        var pomPath = Files.write(tempDir.resolve("pom.xml"), ("\uFEFF" + source).getBytes(StandardCharsets.UTF_16BE));
+
+        var model = PomFiles.read(pomPath);
+        model.getProperties().setProperty("maven.compiler.release", "21");
+        PomFiles.write(pomPath, model);
+
+        assertArrayEquals(("\uFEFF" + source.replace(">17<", ">21<")).getBytes(StandardCharsets.UTF_16BE),
+                Files.readAllBytes(pomPath));
+    }
+
+    @Test
+    void shouldReadLargePom() throws Exception {
+        var dependency = """
+                        <dependency>
+                            <groupId>g</groupId>
+                            <artifactId>a%d</artifactId>
+                            <version>1</version>
+                        </dependency>
+                """;
+        var dependencies = new StringBuilder();
+        for (var i = 0; i < 5000; i++) {
+            dependencies.append(dependency.formatted(i));
+        }
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"),
+                POM.replace("        <dependency>\n", dependencies + "        <dependency>\n"));
+
+        var model = PomFiles.read(pomPath);
+        model.getProperties().setProperty("maven.compiler.release", "21");
+        PomFiles.write(pomPath, model);
+
+        assertEquals(5001, PomFiles.read(pomPath).getDependencies().size());
+        assertEquals("21", PomFiles.read(pomPath).getProperties().getProperty("maven.compiler.release"));
+    }
+
+    @Test
+    void shouldLeaveUnchangedFileAsIs() throws Exception {
+        var source = POM.replace("<version>1</version>", "<version >1</version >");
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), source);
+
+        PomFiles.write(pomPath, PomFiles.read(pomPath));
+
+        assertEquals(source, Files.readString(pomPath));
+    }
+
+    @Test
+    void shouldNotTouchUnchangedFile() throws Exception {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), POM);
+        var lastModified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(pomPath, lastModified);
+
+        PomFiles.write(pomPath, PomFiles.read(pomPath));
+
+        assertEquals(lastModified, Files.getLastModifiedTime(pomPath));
+    }
+
+    @Test
+    void shouldKeepPermissionsAndLeaveNoTemporaryFile() throws Exception {
+        var pomPath = Files.writeString(tempDir.resolve("pom.xml"), POM);
+        assumeTrue(Files.getFileStore(pomPath).supportsFileAttributeView(PosixFileAttributeView.class));
+        var permissions = PosixFilePermissions.fromString("rw-rw----");
+        Files.setPosixFilePermissions(pomPath, permissions);
+
+        var model = PomFiles.read(pomPath);
+        model.setVersion("2");
+        PomFiles.write(pomPath, model);
+
+        assertEquals(permissions, Files.getPosixFilePermissions(pomPath));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(pomPath), files.toList());
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import picocli.CommandLine;
+
+class PomSessionTest extends BaseTest {
+
+    CommandLine underTest;
+    Path projectPath;
+    StringWriter out;
+
+    @BeforeEach
+    void setup() {
+        underTest = Main.createCommandLine(new Main());
+        out = new StringWriter();
+        underTest.setOut(new PrintWriter(out));
+        underTest.setErr(new PrintWriter(new StringWriter()));
+        projectPath = getTempPath();
+    }
+
+    @Test
+    void shouldSeeChangesOfPreviousSubcommands() throws Exception {
+        var pomPath = projectPath.resolve("pom.xml");
+
+        var ec = underTest.execute("id", "-s", "-f", pomPath.toString(), "g:a:1", "set", "-f", pomPath.toString(),
+                "foo=bar", "get", "-f", pomPath.toString(), "foo");
+
+        assertEquals(0, ec);
+        assertEquals("jar g:a:1\nbar\n", out.toString().replace("\r\n", "\n"));
+        assertXpath(pomPath, "/project/properties/foo[text()='bar']", 1);
+    }
+
+    @Test
+    void shouldNotWriteAnythingIfASubcommandFails() throws Exception {
+        var pomPath = Files.writeString(projectPath.resolve("pom.xml"), """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <version>1</version>
+                </project>
+                """);
+        var newPomPath = projectPath.resolve("b").resolve("pom.xml");
+        Files.createDirectories(newPomPath.getParent());
+
+        var ec = underTest.execute("set", "-f", pomPath.toString(), "foo=bar", "id", "-s", "-f",
+                newPomPath.toString(), "g:b:1", "unset", "-f", pomPath.toString(), "baz");
+
+        assertEquals(1, ec);
+        assertXpath(pomPath, "/project/properties", 0);
+        assertFalse(Files.exists(newPomPath));
+    }
+
+    @Test
+    void shouldNotLoseConcurrentChanges() throws Exception {
+        var pomPath = Files.writeString(projectPath.resolve("pom.xml"), """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <version>1</version>
+                </project>
+                """);
+
+        var threads = new ArrayList<Thread>();
+        var exitCodes = new ConcurrentLinkedQueue<Integer>();
+        for (var i = 0; i < 8; i++) {
+            var property = "p" + i + "=" + i;
+            threads.add(Thread.ofPlatform().start(() -> exitCodes.add(Main.createCommandLine(new Main())
+                    .execute("set", "-f", pomPath.toString(), property))));
+        }
+        for (var t : threads) {
+            t.join();
+        }
+
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 0, 0), List.copyOf(exitCodes));
+        assertXpath(pomPath, "/project/properties/*", 8);
+    }
+
+    @Test
+    void shouldNotOverwriteFileChangedSinceRead() throws Exception {
+        var pomPath = Files.writeString(projectPath.resolve("pom.xml"), """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <version>1</version>
+                </project>
+                """);
+
+        try (var session = PomSession.begin()) {
+            var model = session.read(pomPath);
+            Files.writeString(pomPath, Files.readString(pomPath).replace("<version>1</version>", "<version>2</version>"));
+            model.setVersion("3");
+            session.write(pomPath, model);
+
+            assertThrows(PomSession.ChangedException.class, session::commit);
+        }
+
+        assertXpath(pomPath, "/project/version[text()='2']", 1);
+    }
+
+    @Test
+    void shouldNotLockPomsThatAreOnlyRead() throws Exception {
+        var pomPath = Files.writeString(projectPath.resolve("pom.xml"), """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <version>1</version>
+                </project>
+                """);
+
+        try (var session = PomSession.begin()) {
+            session.read(pomPath);
+            int exitCode = Executors.newSingleThreadExecutor()
+                    .submit(() -> Main.createCommandLine(new Main()).execute("set", "-f", pomPath.toString(), "foo=bar"))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(0, exitCode);
+        }
+
+        assertXpath(pomPath, "/project/properties/foo[text()='bar']", 1);
+    }
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class ProvidersTest {
+
+    @Test
+    void shouldShareInstances() {
+        assertSame(Config.getInstance(), Config.getInstance());
+        assertSame(SearchProvider.getInstance(), Providers.get(SearchProvider.class));
+    }
+
+    @Test
+    void shouldOnlyReturnCreatedInstances() {
+        assertSame(Config.getInstance(), Providers.ifCreated(Config.class).orElseThrow());
+        assertTrue(Providers.ifCreated(Runnable.class).isEmpty());
+    }
+
+    @Test
+    void shouldFailWithoutProvider() {
+        assertThrows(NoSuchElementException.class, () -> Providers.get(Runnable.class));
+    }
+
+}
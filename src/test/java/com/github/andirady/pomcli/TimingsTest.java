@@ -0,0 +1,78 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TimingsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void cleanup() {
+        Timings.reset();
+    }
+
+    @Test
+    void shouldSumUpPhases() {
+        Timings.reset();
+        try (var _ = Timings.start(Timings.Phase.METADATA, "a")) {
+        }
+        try (var _ = Timings.start(Timings.Phase.METADATA, "b")) {
+        }
+        try (var _ = Timings.start(Timings.Phase.WRITE, "pom.xml")) {
+        }
+
+        var out = new ByteArrayOutputStream();
+        Timings.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertTrue(lines.stream().anyMatch(l -> l.matches("\\s+metadata HTTP\\s+2x\\s+[\\d.]+ ms")), lines::toString);
+        assertTrue(lines.stream().anyMatch(l -> l.matches("\\s+write\\s+[\\d.]+ ms")), lines::toString);
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("  total")), lines::toString);
+        assertFalse(lines.stream().anyMatch(l -> l.contains("POM parse")), lines::toString);
+    }
+
+    @Test
+    void shouldTimeCommands() throws Exception {
+        var pomPath = tempDir.resolve("pom.xml");
+        Files.writeString(pomPath, "<project></project>");
+        Timings.reset();
+
+        var ec = Main.createCommandLine(new Main()).execute("--timings", "set", "-f", pomPath.toString(), "a=1");
+
+        assertSame(0, ec);
+        assertTrue(Timings.isEnabled());
+        var out = new ByteArrayOutputStream();
+        Timings.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+        var report = out.toString(StandardCharsets.UTF_8);
+        assertTrue(report.contains("POM parse") && report.contains("write"), report);
+    }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+class TraceTest {
+
+    private static final ObjectMapper OM = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    Path traceFile;
+
+    @BeforeEach
+    void setup() {
+        traceFile = tempDir.resolve("trace.jsonl");
+        System.setProperty("pomcli.trace.file", traceFile.toString());
+        Trace.reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty("pomcli.trace.file");
+        Trace.reset();
+    }
+
+    @Test
+    void shouldWriteSpansAsOtlpJson() throws Exception {
+        try (var span = Trace.client("GET", URI.create("https://repo.example.com:8443/maven2/a.pom"),
+                "https://repo.example.com:8443/maven2/")) {
+            span.cache("miss").status(404);
+        }
+        Trace.finish(List.of("add", "g:a"), 1);
+
+        var lines = Files.readAllLines(traceFile);
+        assertEquals(1, lines.size());
+        var scopeSpans = OM.readTree(lines.get(0)).at("/resourceSpans/0/scopeSpans/0");
+        assertEquals("com.github.andirady.pomcli", scopeSpans.at("/scope/name").asText());
+        var spans = scopeSpans.get("spans");
+        assertEquals(2, spans.size());
+
+        var root = spans.get(0);
+        var client = spans.get(1);
+        assertEquals("pom", root.get("name").asText());
+        assertNull(root.get("parentSpanId"));
+        assertEquals(root.get("traceId"), client.get("traceId"));
+        assertEquals(root.get("spanId"), client.get("parentSpanId"));
+        assertEquals(3, client.get("kind").asInt());
+        assertEquals(2, client.at("/status/code").asInt());
+        assertTrue(Long.parseLong(client.get("startTimeUnixNano").asText())
+                <= Long.parseLong(client.get("endTimeUnixNano").asText()));
+
+        var attributes = attributes(client);
+        assertEquals("GET", attributes.get("http.request.method").get("stringValue").asText());
+        assertEquals("repo.example.com", attributes.get("server.address").get("stringValue").asText());
+        assertEquals("8443", attributes.get("server.port").get("intValue").asText());
+        assertEquals("404", attributes.get("http.response.status_code").get("intValue").asText());
+        assertEquals("miss", attributes.get("pomcli.cache").get("stringValue").asText());
+        assertEquals("g:a", attributes(root).get("process.command_args").at("/arrayValue/values/1/stringValue")
+                .asText());
+    }
+
+    @Test
+    void shouldAppendOneLinePerInvocation() throws Exception {
+        Trace.finish(List.of("id"), 0);
+        Trace.reset();
+        Trace.finish(List.of("id"), 0);
+
+        var lines = Files.readAllLines(traceFile);
+        assertEquals(2, lines.size());
+        assertFalse(OM.readTree(lines.get(0)).at("/resourceSpans/0/scopeSpans/0/spans/0/traceId")
+                .equals(OM.readTree(lines.get(1)).at("/resourceSpans/0/scopeSpans/0/spans/0/traceId")));
+    }
+
+    @Test
+    void shouldTraceMetadataRequests() throws Exception {
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            var repository = URI.create("http://localhost:" + server.getAddress().getPort() + "/maven2/");
+            var underTest = new GetLatestVersion(HttpClients.getDefault(),
+                    new NegativeCache(tempDir.resolve("negative"), Duration.ofMinutes(1)));
+
+            assertNull(underTest.getLatest(repository, "g", "a", true));
+            assertNull(underTest.getLatest(repository, "g", "a", true));
+        } finally {
+            server.stop(0);
+        }
+        Trace.finish(List.of("add", "g:a"), 1);
+
+        var spans = OM.readTree(Files.readString(traceFile)).at("/resourceSpans/0/scopeSpans/0/spans");
+        assertEquals(3, spans.size());
+        var first = attributes(spans.get(1));
+        var second = attributes(spans.get(2));
+        assertTrue(first.get("url.full").get("stringValue").asText().endsWith("/maven2/g/a/maven-metadata.xml"));
+        assertEquals("miss", first.get("pomcli.cache").get("stringValue").asText());
+        assertEquals("404", first.get("http.response.status_code").get("intValue").asText());
+        assertEquals("negative", second.get("pomcli.cache").get("stringValue").asText());
+        assertNull(second.get("http.response.status_code"));
+    }
+
+    @Test
+    void shouldNotWriteWhenDisabled() {
+        System.clearProperty("pomcli.trace.file");
+        Trace.reset();
+
+        try (var span = Trace.client("GET", URI.create("https://repo.example.com/a.pom"), null)) {
+            assertFalse(span.isRecording());
+        }
+        Trace.finish(List.of("id"), 0);
+
+        assertFalse(Files.exists(traceFile));
+    }
+
+    private static Map<String, JsonNode> attributes(JsonNode span) {
+        return StreamSupport.stream(span.get("attributes").spliterator(), false)
+                .collect(Collectors.toMap(a -> a.get("key").asText(), a -> a.get("value")));
+    }
+
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import picocli.CommandLine;
+
+class TreeCommandTest extends BaseTest {
+
+    private CommandLine underTest;
+    private StringWriter out;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        underTest = Main.createCommandLine(new Main());
+        out = new StringWriter();
+        underTest.setOut(new PrintWriter(out));
+    }
+
+    @Test
+    void failIfPathNotFound() {
+        var ec = underTest.execute("tree", "-f", tempDir.resolve("pom.xml").toString());
+        assertSame(1, ec);
+    }
+
+    @Test
+    void shouldPrintTransitiveDependencies() throws Exception {
+        var pomPath = writePom();
+
+        var ec = underTest.execute("tree", "-f", pomPath.toString());
+        assertSame(0, ec);
+
+        var lines = out.toString().lines().toList();
+        assertTrue(lines.get(0).equals("g:a:1"), lines::toString);
+        assertTrue(lines.contains("\\- org.apache.logging.log4j:log4j-core:jar:2.24.3:compile"), lines::toString);
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("   ") && l.contains("log4j-api:jar:2.24.3:compile")),
+                lines::toString);
+    }
+
+    @Test
+    void shouldLimitDepth() throws Exception {
+        var pomPath = writePom();
+
+        var ec = underTest.execute("tree", "--depth", "1", "-f", pomPath.toString());
+        assertSame(0, ec);
+
+        var lines = out.toString().lines().toList();
+        assertTrue(lines.contains("\\- org.apache.logging.log4j:log4j-core:jar:2.24.3:compile"), lines::toString);
+        assertFalse(lines.stream().anyMatch(l -> l.contains("log4j-api")), lines.toString());
+    }
+
+    @Test
+    void shouldOnlyShowPathsToIncludedArtifacts() throws Exception {
+        var pomPath = writePom("""
+                <dependency>
+                  <groupId>info.picocli</groupId>
+                  <artifactId>picocli</artifactId>
+                  <version>4.7.7</version>
+                </dependency>
+                """);
+
+        var ec = underTest.execute("tree", "-i", "log4j-api", "-f", pomPath.toString());
+        assertSame(0, ec);
+
+        var actual = out.toString();
+        assertTrue(actual.contains("log4j-api"), actual);
+        assertFalse(actual.contains("picocli"), actual);
+    }
+
+    @Test
+    void shouldIncludeDirectTestDependencies() throws Exception {
+        var pomPath = writePom("""
+                <dependency>
+                  <groupId>info.picocli</groupId>
+                  <artifactId>picocli</artifactId>
+                  <version>4.7.7</version>
+                  <scope>test</scope>
+                </dependency>
+                """);
+
+        var ec = underTest.execute("tree", "-f", pomPath.toString());
+        assertSame(0, ec);
+
+        var lines = out.toString().lines().toList();
+        assertTrue(lines.contains("+- info.picocli:picocli:jar:4.7.7:test"), lines::toString);
+        assertTrue(lines.contains("\\- org.apache.logging.log4j:log4j-core:jar:2.24.3:compile"), lines::toString);
+    }
+
+    private Path writePom(String... extraDependencies) throws Exception {
+        return Files.writeString(tempDir.resolve("pom.xml"), """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <version>1</version>
+                  <dependencies>
+                    %s<dependency>
+                      <groupId>org.apache.logging.log4j</groupId>
+                      <artifactId>log4j-core</artifactId>
+                      <version>2.24.3</version>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """.formatted(String.join("", extraDependencies)));
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import picocli.CommandLine;
+
+class WhyCommandTest extends BaseTest {
+
+    private CommandLine underTest;
+    private StringWriter out;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        underTest = Main.createCommandLine(new Main());
+        out = new StringWriter();
+        underTest.setOut(new PrintWriter(out));
+    }
+
+    @Test
+    void shouldPrintPathToTransitiveDependency() throws Exception {
+        var pomPath = writePom();
+
+        var ec = underTest.execute("why", "org.apache.logging.log4j:log4j-api", "-f", pomPath.toString());
+        assertSame(0, ec);
+
+        var expected = """
+                g:a:1
+                \\- org.apache.logging.log4j:log4j-core:jar:2.24.3:compile
+                   \\- org.apache.logging.log4j:log4j-api:jar:2.24.3:compile
+                """;
+        assertEquals(expected, out.toString().replace(System.lineSeparator(), "\n"));
+    }
+
+    @Test
+    void shouldAnswerFromCachedGraph() throws Exception {
+        var pomPath = writePom();
+        assertSame(0, underTest.execute("why", "log4j-api", "-f", pomPath.toString()));
+        var first = out.toString();
+
+        var second = new StringWriter();
+        var cmd = Main.createCommandLine(new Main());
+        cmd.setOut(new PrintWriter(second));
+        assertSame(0, cmd.execute("why", "log4j-api", "-f", pomPath.toString()));
+        assertEquals(first, second.toString());
+    }
+
+    @Test
+    void failIfNotADependency() throws Exception {
+        var pomPath = writePom();
+
+        var ec = underTest.execute("why", "junit:junit", "-f", pomPath.toString());
+        assertSame(1, ec);
+    }
+
+    private Path writePom() throws Exception {
+        return Files.writeString(tempDir.resolve("pom.xml"), """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>g</groupId>
+                  <artifactId>a</artifactId>
+                  <version>1</version>
+                  <dependencies>
+                    <dependency>
+                      <groupId>org.apache.logging.log4j</groupId>
+                      <artifactId>log4j-core</artifactId>
+                      <version>2.24.3</version>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """);
+    }
+
+}
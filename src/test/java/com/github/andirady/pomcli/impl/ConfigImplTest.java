@@ -0,0 +1,117 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigImplTest {
+
+    private final ConfigImpl underTest = new ConfigImpl();
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty("pomcli.resolver.threads");
+        System.clearProperty("pomcli.checksum.policy");
+        System.clearProperty("pomcli.update.policy");
+        System.clearProperty("pomcli.repository.url");
+        System.clearProperty("pomcli.negative.cache.ttl");
+        System.clearProperty("pomcli.model.cache.size");
+        System.clearProperty("pomcli.lookup.timeout");
+        System.clearProperty("pomcli.graph.cache.size");
+    }
+
+    @Test
+    void shouldReadSystemProperties() {
+        System.setProperty("pomcli.resolver.threads", "16");
+        System.setProperty("pomcli.checksum.policy", "ignore");
+        System.setProperty("pomcli.update.policy", "interval:60");
+        System.setProperty("pomcli.repository.url", "https://mirror.example.com/maven");
+
+        assertEquals(16, underTest.getResolverThreads());
+        assertEquals(Optional.of("ignore"), underTest.getChecksumPolicy());
+        assertEquals(Optional.of("interval:60"), underTest.getUpdatePolicy());
+        assertEquals(URI.create("https://mirror.example.com/maven/"), underTest.getRepositoryUrl());
+    }
+
+    @Test
+    void shouldDefaultUnsetValues() {
+        assertEquals(Optional.empty(), underTest.getChecksumPolicy());
+        assertEquals(Optional.empty(), underTest.getUpdatePolicy());
+    }
+
+    @Test
+    void shouldRejectInvalidValues() {
+        System.setProperty("pomcli.resolver.threads", "0");
+        System.setProperty("pomcli.checksum.policy", "sometimes");
+        System.setProperty("pomcli.update.policy", "hourly");
+
+        assertThrows(IllegalArgumentException.class, underTest::getResolverThreads);
+        assertThrows(IllegalArgumentException.class, underTest::getChecksumPolicy);
+        assertThrows(IllegalArgumentException.class, underTest::getUpdatePolicy);
+    }
+
+    @Test
+    void shouldRejectInvalidNumbers() {
+        System.setProperty("pomcli.negative.cache.ttl", "10m");
+        System.setProperty("pomcli.resolver.threads", "five");
+
+        var e = assertThrows(IllegalArgumentException.class, underTest::getNegativeCacheTtl);
+        assertEquals("negative.cache.ttl must be a whole number of at least 0: 10m", e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, underTest::getResolverThreads);
+        assertEquals("resolver.threads must be a whole number of at least 1: five", e.getMessage());
+
+        System.setProperty("pomcli.lookup.timeout", "-5");
+        assertThrows(IllegalArgumentException.class, underTest::getLookupTimeout);
+
+        System.setProperty("pomcli.model.cache.size", "64M");
+        assertThrows(IllegalArgumentException.class, underTest::getModelCacheSize);
+
+        System.setProperty("pomcli.graph.cache.size", "");
+        assertThrows(IllegalArgumentException.class, underTest::getGraphCacheSize);
+    }
+
+    @Test
+    void shouldReadChangedConfigFile(@TempDir Path tempDir) throws IOException {
+        var userHome = System.getProperty("user.home");
+        var file = tempDir.resolve(Path.of(".config", "pom-cli", "config.properties"));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "default.group.id=com.example");
+        System.setProperty("user.home", tempDir.toString());
+        try {
+            assertEquals("com.example", underTest.getDefaultGroupId());
+
+            Files.writeString(file, "default.group.id=org.example");
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+            assertEquals("org.example", underTest.getDefaultGroupId());
+        } finally {
+            System.setProperty("user.home", userHome);
+        }
+    }
+
+}
@@ -15,6 +15,11 @@
  */
 package com.github.andirady.pomcli.impl;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
 import com.github.andirady.pomcli.Config;
 
 public class ConfigTestImpl implements Config {
@@ -52,4 +57,59 @@ public class ConfigTestImpl implements Config {
 
         return defaultVersion;
     }
+
+    @Override
+    public Path getCacheDirectory() {
+        return Path.of("target", "test-classes", "cache");
+    }
+
+    @Override
+    public Duration getNegativeCacheTtl() {
+        return actualImpl.getNegativeCacheTtl();
+    }
+
+    @Override
+    public long getModelCacheSize() {
+        return actualImpl.getModelCacheSize();
+    }
+
+    @Override
+    public long getGraphCacheSize() {
+        return actualImpl.getGraphCacheSize();
+    }
+
+    @Override
+    public URI getRepositoryUrl() {
+        return actualImpl.getRepositoryUrl();
+    }
+
+    @Override
+    public URI getSearchUrl() {
+        return actualImpl.getSearchUrl();
+    }
+
+    @Override
+    public int getResolverThreads() {
+        return actualImpl.getResolverThreads();
+    }
+
+    @Override
+    public Duration getLookupTimeout() {
+        return actualImpl.getLookupTimeout();
+    }
+
+    @Override
+    public Optional<String> getChecksumPolicy() {
+        return actualImpl.getChecksumPolicy();
+    }
+
+    @Override
+    public Optional<String> getUpdatePolicy() {
+        return actualImpl.getUpdatePolicy();
+    }
+
+    @Override
+    public Optional<Path> getTraceFile() {
+        return actualImpl.getTraceFile();
+    }
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.graph.selector.ScopeDependencySelector;
+import org.junit.jupiter.api.Test;
+
+class DepthLimitingSelectorTest {
+
+    private static final Artifact PROJECT = new DefaultArtifact("g:project:pom:1");
+
+    // The way the collector derives it: for the root artifact first, then for each dependency it goes into.
+    @Test
+    void shouldSelectDirectDependenciesAtDepthOne() {
+        var atRoot = derive(new DepthLimitingSelector(new ScopeDependencySelector("test", "provided"), 0, 1), null);
+        var direct = dependency("direct", "test");
+
+        assertTrue(atRoot.selectDependency(direct));
+        var belowDirect = derive(atRoot, direct);
+        assertFalse(belowDirect.selectDependency(dependency("transitive", "compile")));
+    }
+
+    @Test
+    void shouldDropTransitiveTestDependencies() {
+        var atRoot = derive(new DepthLimitingSelector(new ScopeDependencySelector("test", "provided"), 0, 0), null);
+        var direct = dependency("direct", "compile");
+        var belowDirect = derive(atRoot, direct);
+
+        assertTrue(belowDirect.selectDependency(dependency("transitive", "compile")));
+        assertFalse(belowDirect.selectDependency(dependency("transitive", "test")));
+    }
+
+    private static Dependency dependency(String artifactId, String scope) {
+        return new Dependency(new DefaultArtifact("g:" + artifactId + ":1"), scope);
+    }
+
+    private static DependencySelector derive(DependencySelector selector, Dependency dependency) {
+        return selector.deriveChildSelector(new DependencyCollectionContext() {
+
+            @Override
+            public RepositorySystemSession getSession() {
+                return null;
+            }
+
+            @Override
+            public Artifact getArtifact() {
+                return dependency == null ? PROJECT : dependency.getArtifact();
+            }
+
+            @Override
+            public Dependency getDependency() {
+                return dependency;
+            }
+
+            @Override
+            public List<Dependency> getManagedDependencies() {
+                return List.of();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.andirady.pomcli.NegativeCache;
+import com.sun.net.httpserver.HttpServer;
+
+class DirectPomFetcherTest {
+
+    private static final String POM = "<project><groupId>g</groupId><artifactId>a</artifactId><version>1</version></project>";
+    private static final String POM_PATH = "/g/a/1/a-1.pom";
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private Map<String, String> files;
+    private AtomicInteger requests;
+    private DirectPomFetcher underTest;
+
+    @BeforeEach
+    void setup() throws Exception {
+        files = new ConcurrentHashMap<>();
+        requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            var body = files.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                var bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        var url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        underTest = new DirectPomFetcher(tempDir.resolve("repository"), "central", url, HttpClient.newHttpClient(),
+                new NegativeCache(tempDir.resolve("negative"), Duration.ofMinutes(1)), true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldDownloadAndInstall() throws Exception {
+        files.put(POM_PATH, POM);
+        files.put(POM_PATH + ".sha1", sha1(POM));
+
+        var path = underTest.fetch("g", "a", "1");
+
+        var expected = tempDir.resolve("repository/g/a/1/a-1.pom");
+        assertEquals(Optional.of(expected), path);
+        assertEquals(POM, Files.readString(expected));
+        assertTrue(Files.readString(expected.resolveSibling("_remote.repositories")).contains("a-1.pom>central="));
+
+        requests.set(0);
+        assertEquals(Optional.of(expected), underTest.fetch("g", "a", "1"));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void shouldKeepOtherTrackedFiles() throws Exception {
+        files.put(POM_PATH, POM);
+        files.put(POM_PATH + ".sha1", sha1(POM));
+        var trackingFile = Files.createDirectories(tempDir.resolve("repository/g/a/1"))
+                .resolve("_remote.repositories");
+        Files.writeString(trackingFile, "a-1.jar>central=\n#" + "y".repeat(4096) + "\n");
+
+        underTest.fetch("g", "a", "1");
+
+        var tracking = new Properties();
+        try (var reader = Files.newBufferedReader(trackingFile)) {
+            tracking.load(reader);
+        }
+        assertEquals(Set.of("a-1.jar>central", "a-1.pom>central"), tracking.stringPropertyNames());
+    }
+
+    @Test
+    void shouldNotUsePomFromAnotherRepository() throws Exception {
+        var directory = Files.createDirectories(tempDir.resolve("repository/g/a/1"));
+        Files.writeString(directory.resolve("a-1.pom"), POM);
+        Files.writeString(directory.resolve("_remote.repositories"), "a-1.pom>other=\n");
+
+        assertEquals(Optional.empty(), underTest.fetch("g", "a", "1"));
+        assertEquals(1, requests.get());
+
+        Files.writeString(directory.resolve("_remote.repositories"), "a-1.pom>=\n");
+        assertEquals(Optional.of(directory.resolve("a-1.pom")), underTest.fetch("g", "a", "1"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void shouldRejectChecksumMismatch() throws Exception {
+        files.put(POM_PATH, POM);
+        files.put(POM_PATH + ".sha1", sha1("something else"));
+
+        assertEquals(Optional.empty(), underTest.fetch("g", "a", "1"));
+        assertFalse(Files.exists(tempDir.resolve("repository/g/a/1/a-1.pom")));
+    }
+
+    @Test
+    void shouldRememberMissingPom() {
+        assertEquals(Optional.empty(), underTest.fetch("g", "a", "1"));
+        assertEquals(Optional.empty(), underTest.fetch("g", "a", "1"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void shouldLeaveSnapshotsToResolver() {
+        assertEquals(Optional.empty(), underTest.fetch("g", "a", "1-SNAPSHOT"));
+        assertEquals(0, requests.get());
+    }
+
+    private String sha1(String content) throws Exception {
+        var digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+}
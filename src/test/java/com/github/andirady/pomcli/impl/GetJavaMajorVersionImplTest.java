@@ -0,0 +1,79 @@
+/**
+ * Copyright 2021-2025 Andi Rady Kurniawan
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.andirady.pomcli.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class GetJavaMajorVersionImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @CsvSource({
+        "21.0.1-tem, 21",
+        "17, 17",
+        "1.8.0_392, 1.8",
+        "openjdk64-17.0.2, 17",
+        "temurin-21, 21",
+        "corretto-1.8, 1.8"
+    })
+    void shouldReadMajorVersion(String version, String expected) {
+        assertEquals(Optional.of(expected), GetJavaMajorVersionImpl.majorVersion(version));
+    }
+
+    @Test
+    void shouldReadJavaVersionFile() throws IOException {
+        Files.writeString(tempDir.resolve(".java-version"), "\n17.0.2\n");
+
+        assertEquals(Optional.of("17"), GetJavaMajorVersionImpl.fromProject(tempDir));
+    }
+
+    @Test
+    void shouldReadSdkmanrcAbove() throws IOException {
+        var module = Files.createDirectories(tempDir.resolve("module"));
+        Files.writeString(tempDir.resolve(".sdkmanrc"), "# Enable auto-env\nmaven=3.9.9\njava=21.0.5-tem\n");
+
+        assertEquals(Optional.of("21"), GetJavaMajorVersionImpl.fromProject(module));
+    }
+
+    @Test
+    void shouldNotLookFurtherThanOneAbove() throws IOException {
+        var module = Files.createDirectories(tempDir.resolve("parent").resolve("module"));
+        Files.writeString(tempDir.resolve(".java-version"), "17\n");
+
+        assertEquals(Optional.empty(), GetJavaMajorVersionImpl.fromProject(module));
+    }
+
+    @Test
+    void shouldNotLookAboveRepositoryRoot() throws IOException {
+        var project = Files.createDirectories(tempDir.resolve("project").resolve(".git")).getParent();
+        Files.writeString(tempDir.resolve(".java-version"), "17\n");
+
+        assertEquals(Optional.empty(), GetJavaMajorVersionImpl.fromProject(project));
+    }
+
+}
@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Lays out the JVM distribution in DIR, trains it with the workload, and leaves the AOT cache made from the training
+# run in DIR/lib. The cache is only valid for the JVM that made it, which is the one in JAVA_HOME, or on the PATH.
+#
+#   aot.sh DIR JAR
+set -euo pipefail
+
+here=$(cd "$(dirname "$0")" && pwd)
+dir=$(mkdir -p "$1" && cd "$1" && pwd -P)
+jar=$(basename "$2")
+
+mkdir -p "$dir/bin" "$dir/lib"
+cp "$2" "$dir/lib/$jar"
+cp "$here/../main/jvm/pom" "$dir/bin/pom"
+chmod +x "$dir/bin/pom"
+rm -f "$dir/lib/pom.aot" "$dir/pom.aotconf"
+
+"$here/workload.sh" "$dir/bin/pom" -XX:AOTMode=record -XX:AOTConfiguration="$dir/pom.aotconf"
+# The cache is created through the launcher too, so that its class path is the one the launcher runs with. With
+# -XX:AOTMode=create, the JVM exits once the cache is written, without running the command.
+"$dir/bin/pom" -XX:AOTMode=create -XX:AOTConfiguration="$dir/pom.aotconf" -XX:AOTCache="$dir/lib/pom.aot"
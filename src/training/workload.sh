@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Runs a representative workload against a local stand-in for Maven Central. The options are passed to every run of the
+# command, e.g. to have it dump a profile, or record an AOT configuration.
+#
+#   workload.sh COMMAND [OPTION...]
+set -euo pipefail
+
+here=$(cd "$(dirname "$0")" && pwd)
+work=$(mktemp -d)
+port=${TRAINING_PORT:-18080}
+rounds=${TRAINING_ROUNDS:-20}
+
+"${JAVA_HOME:+$JAVA_HOME/bin/}jwebserver" -b 127.0.0.1 -p "$port" -d "$here/repository" -o none &
+server=$!
+trap 'kill $server 2>/dev/null; rm -rf "$work"' EXIT
+for _ in $(seq 50); do
+    (exec 3<>"/dev/tcp/127.0.0.1/$port") 2>/dev/null && break
+    sleep 0.1
+done
+
+export POM_CLI_REPOSITORY_URL="http://127.0.0.1:$port/"
+export POM_CLI_SEARCH_URL="http://127.0.0.1:$port/solrsearch/select"
+unset XDG_CACHE_HOME XDG_CONFIG_HOME POM_CLI_CONFIG
+
+for i in $(seq "$rounds"); do
+    p="$work/p$i"
+    mkdir -p "$p"
+    cat <<COMMANDS
+id -s -f $p com.example:demo$i:1.0
+parent -f $p org.example:demo-parent:1.0
+add -f $p org.example:demo-lib
+add -f $p --test org.example:demo-test
+plug -f $p org.apache.maven.plugins:maven-surefire-plugin
+set -f $p maven.compiler.release=21 project.build.sourceEncoding=UTF-8
+get -f $p maven.compiler.release
+id -f $p
+search demo-lib
+COMMANDS
+done > "$work/commands.txt"
+
+# The user home is redirected, so the local repository and the caches start empty and are thrown away.
+"$@" -Duser.home="$work/home" --batch "$work/commands.txt" > /dev/null